@@ -0,0 +1,89 @@
+package com.websiteElectronics.websiteElectronics.Benchmarks;
+
+import com.websiteElectronics.websiteElectronics.Entities.Categories;
+import com.websiteElectronics.websiteElectronics.Entities.Customers;
+import com.websiteElectronics.websiteElectronics.Entities.OrderDetails;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Entities.PaymentMethods;
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Entities.ShippingMethods;
+import com.websiteElectronics.websiteElectronics.Entities.Suppliers;
+import com.websiteElectronics.websiteElectronics.Services.Impl.JwtService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic test data shared by the benchmarks, so runs on different machines or commits
+ * measure the same work.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "benchmarkSecretKeyForJWTTokenGenerationAndValidation12345";
+
+    private static final Categories CATEGORY = new Categories(1, "Điện thoại", "Smartphones", null);
+    private static final Suppliers SUPPLIER = new Suppliers(1, "Supplier", "Contact", "supplier@example.com", "0900000000");
+    private static final PaymentMethods PAYMENT = new PaymentMethods(1, "COD", "Cash on delivery");
+    private static final ShippingMethods SHIPPING = new ShippingMethods(1, "Standard", 30000.0, "3 days");
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService(int claimsCacheSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(service, "claimsCacheMaxSize", claimsCacheSize);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    static Customers customer(int id) {
+        Customers customer = new Customers();
+        customer.setId(id);
+        customer.setFirstName("Nguyễn");
+        customer.setLastName("Văn An " + id);
+        customer.setEmail("customer" + id + "@example.com");
+        customer.setPhoneNumber("0901234567");
+        customer.setAddress("123 Lê Lợi");
+        customer.setCity("Hồ Chí Minh");
+        customer.setState("Quận 1");
+        return customer;
+    }
+
+    static Products product(int id) {
+        return new Products(id, "Điện thoại mẫu " + id, "Mô tả sản phẩm \"" + id + "\", pin trâu",
+                1_000_000 + id, 100, "https://cdn.example.com/p/" + id + ".jpg", CATEGORY, SUPPLIER);
+    }
+
+    static Orders order(int id) {
+        return new Orders(id, LocalDateTime.of(2025, 1, 1, 10, 0).plusMinutes(id), "Pending",
+                2_500_000 + id, customer(id), PAYMENT, SHIPPING);
+    }
+
+    static List<Products> products(int count) {
+        List<Products> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    static List<Orders> orders(int count) {
+        List<Orders> orders = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            orders.add(order(i));
+        }
+        return orders;
+    }
+
+    static List<OrderDetails> orderLines(Orders order, int count) {
+        List<OrderDetails> lines = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            lines.add(new OrderDetails(i, order, product(i), i % 3 + 1));
+        }
+        return lines;
+    }
+}
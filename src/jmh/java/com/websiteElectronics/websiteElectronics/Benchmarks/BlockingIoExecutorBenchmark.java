@@ -0,0 +1,90 @@
+package com.websiteElectronics.websiteElectronics.Benchmarks;
+
+import com.websiteElectronics.websiteElectronics.Config.AsyncConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of blocking jobs pushed through {@code asyncExecutor} in both threading modes.
+ * {@code smtp} is a slow mail server (every job waits the full latency); {@code db} is a slow
+ * query behind a Hikari-sized pool of 10 connections, so it shows where the pool rather than the
+ * thread count becomes the limit. The {@code virtual} rows need a JDK 21 and
+ * {@code -Pvirtual-threads}; on Java 17 their setup fails and JMH moves on to the next row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingIoExecutorBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"smtp", "db"})
+    public String backend;
+
+    @Param({"100"})
+    public int burst;
+
+    private Executor executor;
+    private Semaphore connections;
+    private long latencyMs;
+
+    @Setup
+    public void setUp() {
+        AsyncConfig config = new AsyncConfig();
+        executor = "virtual".equals(threads) ? config.virtualTaskExecutor(200) : config.taskExecutor(new SimpleMeterRegistry());
+        connections = new Semaphore("db".equals(backend) ? 10 : Integer.MAX_VALUE);
+        latencyMs = "db".equals(backend) ? 10 : 50;
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (executor instanceof DisposableBean bean) {
+            bean.destroy();
+        } else if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(burst);
+        for (int i = 0; i < burst; i++) {
+            executor.execute(() -> {
+                try {
+                    connections.acquire();
+                    try {
+                        Thread.sleep(latencyMs);
+                    } finally {
+                        connections.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
@@ -0,0 +1,82 @@
+package com.websiteElectronics.websiteElectronics.Benchmarks;
+
+import com.opencsv.bean.StatefulBeanToCsv;
+import com.opencsv.bean.StatefulBeanToCsvBuilder;
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.CustomersExport;
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.OrdersExport;
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ProductsExport;
+import com.websiteElectronics.websiteElectronics.Dtos.CustomersDto;
+import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
+import com.websiteElectronics.websiteElectronics.Mappers.CustomersMapper;
+import com.websiteElectronics.websiteElectronics.Mappers.ElectronicsMapper;
+import com.websiteElectronics.websiteElectronics.Mappers.OrdersMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CSV exporters writing to a discarding stream, so the numbers cover formatting and
+ * encoding only. {@code ordersOpenCsv} keeps the old {@code StatefulBeanToCsv} path around as
+ * the baseline the streaming writer replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvExportBenchmark {
+
+    @Param({"1000", "50000"})
+    public int rows;
+
+    private List<OrdersDto> orders;
+    private List<CustomersDto> customers;
+    private List<ProductsDto> products;
+
+    @Setup
+    public void setUp() {
+        orders = BenchmarkFixtures.orders(rows).stream().map(OrdersMapper::toDto).toList();
+        customers = BenchmarkFixtures.orders(rows).stream().map(order -> CustomersMapper.toDto(order.getCustomer())).toList();
+        products = BenchmarkFixtures.products(rows).stream().map(ElectronicsMapper::mapToDto).toList();
+    }
+
+    @Benchmark
+    public long ordersStreaming() throws Exception {
+        return OrdersExport.exportToCsv(orders.stream(), OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void ordersOpenCsv() throws Exception {
+        Writer writer = new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8);
+        StatefulBeanToCsv<OrdersDto> beanToCsv = new StatefulBeanToCsvBuilder<OrdersDto>(writer).build();
+        beanToCsv.write(orders);
+        writer.flush();
+    }
+
+    @Benchmark
+    public long customersStreaming() throws Exception {
+        return CustomersExport.exportToCsv(customers.stream(), OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public long productsStreaming() throws Exception {
+        return ProductsExport.exportToCsv(products.stream(), OutputStream.nullOutputStream());
+    }
+}
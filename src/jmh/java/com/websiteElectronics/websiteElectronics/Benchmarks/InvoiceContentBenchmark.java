@@ -0,0 +1,47 @@
+package com.websiteElectronics.websiteElectronics.Benchmarks;
+
+import com.websiteElectronics.websiteElectronics.Entities.OrderDetails;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InvoiceFileServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvoiceContentBenchmark {
+
+    @Param({"3", "50"})
+    public int lines;
+
+    private InvoiceFileServiceImpl invoiceFileService;
+    private Orders order;
+    private List<OrderDetails> orderLines;
+
+    @Setup
+    public void setUp() {
+        invoiceFileService = new InvoiceFileServiceImpl();
+        order = BenchmarkFixtures.order(42);
+        orderLines = BenchmarkFixtures.orderLines(order, lines);
+    }
+
+    @Benchmark
+    public String buildInvoiceContent() {
+        return invoiceFileService.buildInvoiceContent(order, orderLines);
+    }
+}
@@ -0,0 +1,55 @@
+package com.websiteElectronics.websiteElectronics.Benchmarks;
+
+import com.websiteElectronics.websiteElectronics.Entities.OrderDetails;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InvoicePdfRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded PDF invoices per second; the target is at least 200 on one core.
+ * Compare with {@link InvoiceContentBenchmark} for the cost over the plain-text invoice.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvoicePdfBenchmark {
+
+    @Param({"3", "50"})
+    public int lines;
+
+    private InvoicePdfRenderer renderer;
+    private Orders order;
+    private List<OrderDetails> orderLines;
+
+    @Setup
+    public void setUp() throws IOException {
+        renderer = new InvoicePdfRenderer(new ClassPathResource("fonts/DejaVuSans-Vietnamese.ttf"));
+        order = BenchmarkFixtures.order(42);
+        orderLines = BenchmarkFixtures.orderLines(order, lines);
+    }
+
+    @Benchmark
+    public byte[] renderPdf() {
+        return renderer.render(order, orderLines);
+    }
+}
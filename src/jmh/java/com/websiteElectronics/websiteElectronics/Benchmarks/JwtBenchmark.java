@@ -0,0 +1,68 @@
+package com.websiteElectronics.websiteElectronics.Benchmarks;
+
+import com.websiteElectronics.websiteElectronics.Services.Impl.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtService cachingService;
+    private JwtService verifyingService;
+    private UserDetails user;
+    private String token;
+    private String[] rotatingTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        user = User.builder()
+                .username("user@example.com")
+                .password("")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")))
+                .build();
+        cachingService = BenchmarkFixtures.jwtService(10_000);
+        // A one-entry cache fed alternating tokens misses every time, which measures the full HMAC verify.
+        verifyingService = BenchmarkFixtures.jwtService(1);
+        token = cachingService.generateToken(user);
+        rotatingTokens = new String[]{verifyingService.generateToken(user), verifyingService.createToken(Map.of(), "other@example.com")};
+        cachingService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims extractAllClaimsCached() {
+        return cachingService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims extractAllClaimsVerified() {
+        next ^= 1;
+        return verifyingService.extractAllClaims(rotatingTokens[next]);
+    }
+}
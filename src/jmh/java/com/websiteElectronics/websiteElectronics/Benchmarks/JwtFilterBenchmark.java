@@ -0,0 +1,74 @@
+package com.websiteElectronics.websiteElectronics.Benchmarks;
+
+import com.websiteElectronics.websiteElectronics.Config.JwtAuthenticationFilter;
+import com.websiteElectronics.websiteElectronics.Services.Impl.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass through {@link JwtAuthenticationFilter} per invocation, from reading the header to
+ * populating the security context, the way every authenticated request pays for it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtFilterBenchmark {
+
+    @Param({"10000", "1"})
+    public int claimsCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String[] headers;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService(claimsCacheSize);
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+        headers = new String[2];
+        for (int i = 0; i < headers.length; i++) {
+            headers[i] = "Bearer " + jwtService.generateToken(User.builder()
+                    .username("user" + i + "@example.com")
+                    .password("")
+                    .authorities(List.of(new SimpleGrantedAuthority("ROLE_USER")))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void doFilter(Blackhole blackhole) throws Exception {
+        next ^= 1;
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/electronics");
+        request.addHeader("Authorization", headers[next]);
+        FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.websiteElectronics.websiteElectronics.Benchmarks;
+
+import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Mappers.ElectronicsMapper;
+import com.websiteElectronics.websiteElectronics.Mappers.OrdersMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping over listing-sized inputs, sequential against parallel streams, to
+ * show where (if anywhere) the fork/join overhead of {@code parallelStream()} pays off.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private List<Products> products;
+    private List<Orders> orders;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkFixtures.products(size);
+        orders = BenchmarkFixtures.orders(size);
+    }
+
+    @Benchmark
+    public List<ProductsDto> productsSequential() {
+        return products.stream().map(ElectronicsMapper::mapToDto).toList();
+    }
+
+    @Benchmark
+    public List<ProductsDto> productsParallel() {
+        return products.parallelStream().map(ElectronicsMapper::mapToDto).toList();
+    }
+
+    @Benchmark
+    public List<OrdersDto> ordersSequential() {
+        return orders.stream().map(OrdersMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<OrdersDto> ordersParallel() {
+        return orders.parallelStream().map(OrdersMapper::toDto).toList();
+    }
+}
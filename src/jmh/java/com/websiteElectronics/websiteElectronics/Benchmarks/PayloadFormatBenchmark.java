@@ -0,0 +1,128 @@
+package com.websiteElectronics.websiteElectronics.Benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ListStreamWriter;
+import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+import com.websiteElectronics.websiteElectronics.Mappers.OrdersMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU per response for the order list in each encoding, with and without gzip, written to a
+ * counting stream. {@code buffered} is the old path: the whole list serialized into a
+ * {@code byte[]} before anything is sent. The size of one response is reported next to the
+ * score as the {@code payloadBytes} secondary result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadFormatBenchmark {
+
+    @Param({"1000", "50000"})
+    public int rows;
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    @Param({"none", "gzip"})
+    public String compression;
+
+    private List<OrdersDto> orders;
+    private ListStreamWriter.Format streamFormat;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setUp() throws IOException {
+        orders = BenchmarkFixtures.orders(rows).stream().map(OrdersMapper::toDto).toList();
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        boolean cbor = "cbor".equals(format);
+        streamFormat = new ListStreamWriter(json, Jackson2ObjectMapperBuilder.json()).negotiate(cbor ? "application/cbor" : "application/json");
+        mapper = cbor ? Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build() : json;
+    }
+
+    @Benchmark
+    public long streamed(Payload payload) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        try (OutputStream os = open(counter)) {
+            streamFormat.write(orders.stream(), os);
+        }
+        return payload.record(counter.count);
+    }
+
+    @Benchmark
+    public long buffered(Payload payload) throws IOException {
+        byte[] body = mapper.writeValueAsBytes(orders);
+        CountingOutputStream counter = new CountingOutputStream();
+        try (OutputStream os = open(counter)) {
+            os.write(body);
+        }
+        return payload.record(counter.count);
+    }
+
+    private OutputStream open(OutputStream target) throws IOException {
+        // Tomcat's compression filter wraps the response stream in a GZIPOutputStream the same way.
+        return "gzip".equals(compression) ? new GZIPOutputStream(target) : target;
+    }
+
+    /**
+     * Size of one response. JMH sums event counters over the measurement iterations, so each
+     * iteration reports its share and the secondary score comes out as the size itself.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public double payloadBytes;
+
+        private int iterations;
+
+        @Setup(Level.Iteration)
+        public void reset(IterationParams params) {
+            iterations = params.getCount();
+            payloadBytes = 0;
+        }
+
+        long record(long bytes) {
+            payloadBytes = (double) bytes / iterations;
+            return bytes;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.websiteElectronics.websiteElectronics.Collections;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable progress record for one order's invoice. The status names the last stage that
+ * finished, so after a restart the pipeline resumes at the next stage instead of starting over.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "invoiceOutbox")
+@CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class InvoiceOutboxEntry {
+    public static final String PENDING = "PENDING";
+    public static final String RENDERED = "RENDERED";
+    public static final String PERSISTED = "PERSISTED";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    private String id;
+    private int orderId;
+    private int expireMinutes;
+    private String status;
+    private String filePath;
+    private String invoiceId;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime nextAttemptAt;
+
+    public static String idOf(int orderId) {
+        return "order:" + orderId;
+    }
+}
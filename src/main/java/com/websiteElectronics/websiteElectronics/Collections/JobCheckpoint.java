@@ -0,0 +1,30 @@
+package com.websiteElectronics.websiteElectronics.Collections;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a long-running batch job. An unfinished checkpoint lets the next run carry on
+ * after {@code lastId} with the original {@code cutoff} instead of starting again.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "jobCheckpoints")
+public class JobCheckpoint {
+
+    @Id
+    private String id;
+    private LocalDateTime cutoff;
+    private String lastId;
+    private long processed;
+    private long deleted;
+    private boolean completed;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+}
@@ -1,25 +1,60 @@
 package com.websiteElectronics.websiteElectronics.Config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
+/**
+ * {@code asyncExecutor} follows {@code spring.threads.virtual.enabled}: on Java 21+ with the flag
+ * set, every {@code @Async} call gets its own virtual thread (Boot switches Tomcat and the
+ * scheduler over at the same time); otherwise it is the original fixed platform pool. The
+ * virtual executor caps concurrency instead of queueing, so a burst waits for a free permit
+ * rather than being rejected once the queue is full.
+ * <p>
+ * Actuator binds the platform pool's size, queue depth and completions as {@code executor.*}
+ * (tag {@code name=asyncExecutor}); rejections are counted here because the pool does not track them.
+ */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
     @Bean(name = "asyncExecutor")
-    public Executor taskExecutor() {
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor taskExecutor(MeterRegistry meterRegistry) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("Tasks refused because the pool and its queue were full")
+                .tag("name", "asyncExecutor")
+                .register(meterRegistry);
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("Async-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, pool);
+        });
         executor.initialize();
         return executor;
     }
 
+    @Bean(name = "asyncExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualTaskExecutor(@Value("${async.virtual.concurrency-limit:200}") int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Async-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(10_000);
+        return executor;
+    }
+
 }
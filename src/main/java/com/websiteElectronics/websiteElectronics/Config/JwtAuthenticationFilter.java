@@ -1,6 +1,7 @@
 package com.websiteElectronics.websiteElectronics.Config;
 
 import com.websiteElectronics.websiteElectronics.Services.Impl.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -38,9 +39,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try{
-            userEmail = jwtService.extractUsername(jwt);
+            Claims claims = jwtService.extractAllClaims(jwt);
+            userEmail = claims.getSubject();
             if(userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null){
-                List<String> roles = jwtService.extractRoles(jwt);
+                List<String> roles = jwtService.extractRoles(claims);
 
                 UserDetails userDetails = User.builder()
                         .username(userEmail)
@@ -50,7 +52,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                 .toList())
                         .build();
 
-                if (jwtService.validateToken(jwt, userDetails)) {
+                if (jwtService.validateToken(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -1,6 +1,8 @@
 package com.websiteElectronics.websiteElectronics.Config;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -36,6 +38,9 @@ public class SecurityConfig {
     @Autowired
     private OAuth2LoginFailureHandler oAuth2LoginFailureHandler;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -60,6 +65,9 @@ public class SecurityConfig {
 
                         .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
                         .requestMatchers("/login/oauth2/**", "/oauth2/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers(this::isManagementPort).permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/prometheus").hasRole("ADMIN")
 
                         .requestMatchers(HttpMethod.GET, "/api/customers/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/electronics/**", "/api/categories/**").authenticated()
@@ -68,6 +76,11 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT,  "/api/customers/**", "/api/electronics/**", "/api/categories/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE,"/api/customers/**", "/api/electronics/**", "/api/categories/**").hasRole("ADMIN")
 
+                        // Operator jobs that rewrite reports, rollups or stats in bulk.
+                        .requestMatchers(HttpMethod.POST, "/api/reports/daily-revenue",
+                                "/api/mongo/managersBehaviour/rollups/rebuild",
+                                "/api/orders/stats/reconcile").hasRole("ADMIN")
+
                         .anyRequest().authenticated()
                 )
 
@@ -88,6 +101,14 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Only actuator is served on the management port, which is kept off the public network, so the
+     * scraper needs no token there. When the port is shared with the API the metrics need ADMIN.
+     */
+    private boolean isManagementPort(HttpServletRequest request) {
+        return managementPort > 0 && request.getLocalPort() == managementPort;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
@@ -1,10 +1,13 @@
 package com.websiteElectronics.websiteElectronics.Controllers;
 
 import com.websiteElectronics.websiteElectronics.Dtos.CategoriesDto;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
 import com.websiteElectronics.websiteElectronics.Services.CategoriesService;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import java.util.List;
 
 //@CrossOrigin("*")
@@ -13,10 +16,16 @@ import java.util.List;
 public class CategoriesController {
 
     private final CategoriesService categoriesService;
+    private final TableVersions tableVersions;
 
     @Autowired
-    public CategoriesController(CategoriesService categoriesService) {
+    public CategoriesController(CategoriesService categoriesService, TableVersions tableVersions) {
         this.categoriesService = categoriesService;
+        this.tableVersions = tableVersions;
+    }
+
+    private String categoriesTag() {
+        return tableVersions.etag(TableVersions.Table.CATEGORIES);
     }
 
     @PostMapping
@@ -36,12 +45,28 @@ public class CategoriesController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoriesDto> getCategoryById(@PathVariable int id) {
-        return ResponseEntity.ok(categoriesService.getCategoryById(id));
+    public ResponseEntity<CategoriesDto> getCategoryById(@PathVariable int id, ServletWebRequest request) {
+        return ConditionalGet.respond(request, categoriesTag(), () -> categoriesService.getCategoryById(id));
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoriesDto>> getAllCategories() {
-        return ResponseEntity.ok(categoriesService.getAllCategories());
+    public ResponseEntity<List<CategoriesDto>> getAllCategories(ServletWebRequest request) {
+        return ConditionalGet.respond(request, categoriesTag(), () -> categoriesService.getAllCategories());
+    }
+
+    @GetMapping("/{id}/ancestors")
+    public ResponseEntity<List<CategoriesDto>> getAncestors(@PathVariable int id, ServletWebRequest request) {
+        return ConditionalGet.respond(request, categoriesTag(), () -> categoriesService.getAncestors(id));
+    }
+
+    @GetMapping("/{id}/descendants")
+    public ResponseEntity<List<CategoriesDto>> getDescendants(@PathVariable int id, ServletWebRequest request) {
+        return ConditionalGet.respond(request, categoriesTag(), () -> categoriesService.getDescendants(id));
+    }
+
+    @GetMapping("/{id}/products")
+    public ResponseEntity<List<ProductsDto>> getProductsInSubtree(@PathVariable int id, ServletWebRequest request) {
+        String etag = tableVersions.etag(TableVersions.Table.CATEGORIES, TableVersions.Table.PRODUCTS);
+        return ConditionalGet.respond(request, etag, () -> categoriesService.getProductsInSubtree(id));
     }
 }
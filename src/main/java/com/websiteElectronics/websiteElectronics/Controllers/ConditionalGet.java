@@ -0,0 +1,47 @@
+package com.websiteElectronics.websiteElectronics.Controllers;
+
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ListStreamWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers a GET from a version tag before anything is loaded. A matching {@code If-None-Match}
+ * returns 304 without calling {@code body}. Responses are private to the signed-in user and
+ * marked {@code no-cache}, so the browser keeps them but revalidates on every poll. The same data
+ * can be sent as JSON or CBOR, so the tag names the encoding and the response varies on {@code Accept}.
+ */
+final class ConditionalGet {
+
+    static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(ServletWebRequest request, String etag, Supplier<T> body) {
+        HttpServletResponse response = request.getResponse();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Also sets the ETag header, on the 304 and on the full response.
+        if (request.checkNotModified(forEncoding(etag, request.getHeader(HttpHeaders.ACCEPT)))) {
+            return null;
+        }
+        return ResponseEntity.ok(body.get());
+    }
+
+    private static String forEncoding(String etag, String accept) {
+        try {
+            if (ListStreamWriter.APPLICATION_CBOR.equals(ListStreamWriter.select(accept))) {
+                return etag.substring(0, etag.length() - 1) + "-cbor\"";
+            }
+        } catch (ResponseStatusException e) {
+            // Nothing acceptable; the message converters answer 406 after the body is loaded.
+        }
+        return etag;
+    }
+}
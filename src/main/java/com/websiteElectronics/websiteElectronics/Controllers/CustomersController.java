@@ -1,16 +1,19 @@
 package com.websiteElectronics.websiteElectronics.Controllers;
 
 import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.CustomersExport;
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ListStreamWriter;
 import com.websiteElectronics.websiteElectronics.Dtos.CustomersDto;
 import com.websiteElectronics.websiteElectronics.Services.CustomersService;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.security.Principal;
-import java.util.List;
 //
 //@CrossOrigin("*")
 @RestController
@@ -18,10 +21,12 @@ import java.util.List;
 public class CustomersController {
 
     private final CustomersService customersService;
+    private final ListStreamWriter listStreamWriter;
 
     @Autowired
-    public CustomersController(CustomersService customersService) {
+    public CustomersController(CustomersService customersService, ListStreamWriter listStreamWriter) {
         this.customersService = customersService;
+        this.listStreamWriter = listStreamWriter;
     }
 
     @PostMapping
@@ -52,8 +57,13 @@ public class CustomersController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CustomersDto>> getAllCustomers() {
-        return ResponseEntity.ok(customersService.getAllCustomers());
+    public void getAllCustomers(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                HttpServletResponse response) throws IOException {
+        ListStreamWriter.Format format = listStreamWriter.negotiate(accept);
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        OutputStream body = response.getOutputStream();
+        customersService.writeAllCustomers(rows -> format.write(rows, body));
     }
 
     @GetMapping("/export")
@@ -61,7 +71,7 @@ public class CustomersController {
         response.setContentType("text/csv");
         response.setHeader("Content-Disposition", "attachment; filename=customers.csv");
 
-        List<CustomersDto> customers = customersService.getAllCustomers();
-        CustomersExport.exportToCsv(customers, response.getOutputStream());
+        OutputStream body = response.getOutputStream();
+        customersService.writeAllCustomers(rows -> CustomersExport.exportToCsv(rows, body));
     }
 }
@@ -1,14 +1,24 @@
 package com.websiteElectronics.websiteElectronics.Controllers;
 
 import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ProductsExport;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductImportReport;
 import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductsPageDto;
 import com.websiteElectronics.websiteElectronics.Services.ElectronicsService;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
+import com.websiteElectronics.websiteElectronics.Services.ProductImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.util.List;
 
@@ -17,23 +27,59 @@ import java.util.List;
 @RequestMapping("/api/electronics")
 public class ElectronicsController {
     private final ElectronicsService electronicsService;
+    private final ProductImportService productImportService;
+    private final TableVersions tableVersions;
 
     @Autowired
-    public ElectronicsController(ElectronicsService electronicsService) {
+    public ElectronicsController(ElectronicsService electronicsService, ProductImportService productImportService,
+                                 TableVersions tableVersions) {
         this.electronicsService = electronicsService;
+        this.productImportService = productImportService;
+        this.tableVersions = tableVersions;
+    }
+
+    // Products are returned with their category embedded.
+    private String catalogTag() {
+        return tableVersions.etag(TableVersions.Table.PRODUCTS, TableVersions.Table.CATEGORIES);
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductsDto>> getAllElectronics() {
-        return ResponseEntity.ok(electronicsService.getAllElectronics());
+    public ResponseEntity<ProductsPageDto> getElectronicsPage(@RequestParam(required = false) Integer minPrice,
+                                                              @RequestParam(required = false) Integer maxPrice,
+                                                              @RequestParam(required = false) Integer categoryId,
+                                                              @RequestParam(required = false) Integer supplierId,
+                                                              @RequestParam(required = false) Integer size,
+                                                              @RequestParam(required = false) String cursor,
+                                                              ServletWebRequest request) {
+        return ConditionalGet.respond(request, catalogTag(),
+                () -> electronicsService.getElectronicsPage(minPrice, maxPrice, categoryId, supplierId, size, cursor));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductsDto>> searchElectronics(@RequestParam("q") String query,
+                                                               @RequestParam(required = false) Integer minPrice,
+                                                               @RequestParam(required = false) Integer maxPrice,
+                                                               @RequestParam(required = false) Integer categoryId,
+                                                               @RequestParam(required = false) Integer size,
+                                                               ServletWebRequest request) {
+        return ConditionalGet.respond(request, catalogTag(),
+                () -> electronicsService.searchElectronics(query, minPrice, maxPrice, categoryId, size));
+    }
+
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggestElectronics(@RequestParam("q") String prefix,
+                                                           @RequestParam(required = false) Integer size,
+                                                           ServletWebRequest request) {
+        return ConditionalGet.respond(request, tableVersions.etag(TableVersions.Table.PRODUCTS),
+                () -> electronicsService.suggestElectronics(prefix, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductsDto> getElectronicsById(@PathVariable Integer id) {
+    public ResponseEntity<ProductsDto> getElectronicsById(@PathVariable Integer id, ServletWebRequest request) {
         if (id == null) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(electronicsService.getElectronicsById(id));
+        return ConditionalGet.respond(request, catalogTag(), () -> electronicsService.getElectronicsById(id));
     }
 
     @PostMapping
@@ -41,6 +87,20 @@ public class ElectronicsController {
         return ResponseEntity.ok(electronicsService.createElectronics(electronicsDto));
     }
 
+    // A raw text/csv body is read straight from the request; a multipart upload is spooled by the
+    // container first and is limited by spring.servlet.multipart.max-file-size.
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ProductImportReport> importElectronics(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(productImportService.importProducts(request.getInputStream()));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductImportReport> importElectronicsFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(productImportService.importProducts(in));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductsDto> updateElectronics(@PathVariable int id, @RequestBody ProductsDto electronicsDto) {
         return ResponseEntity.ok(electronicsService.updateElectronics(id, electronicsDto));
@@ -57,7 +117,7 @@ public class ElectronicsController {
         response.setContentType("text/csv");
         response.setHeader("Content-Disposition", "attachment; filename=electronics.csv");
 
-        List<ProductsDto> electronics = electronicsService.getAllElectronics();
-        ProductsExport.exportToCsv(electronics, response.getOutputStream());
+        OutputStream body = response.getOutputStream();
+        electronicsService.writeAllElectronics(rows -> ProductsExport.exportToCsv(rows, body));
     }
 }
@@ -1,26 +1,28 @@
 package com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel;
 
-import com.opencsv.ICSVWriter;
-import com.opencsv.bean.StatefulBeanToCsv;
-import com.opencsv.bean.StatefulBeanToCsvBuilder;
-import com.opencsv.exceptions.CsvDataTypeMismatchException;
-import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
 import com.websiteElectronics.websiteElectronics.Dtos.CustomersDto;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.io.OutputStream;
+import java.util.stream.Stream;
 
 public class CustomersExport {
 
-    public static void exportToCsv(List<CustomersDto> orders, OutputStream os) throws IOException, CsvRequiredFieldEmptyException, CsvDataTypeMismatchException {
-        OutputStreamWriter writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
-        StatefulBeanToCsv<CustomersDto> beanToCsv = new StatefulBeanToCsvBuilder<CustomersDto>(writer)
-                .withSeparator(ICSVWriter.DEFAULT_SEPARATOR)
-                .build();
-        beanToCsv.write(orders);
-        writer.flush();
+    private static final CsvStreamWriter<CustomersDto> WRITER = new CsvStreamWriter<>(
+            CustomersDto::getId,
+            CustomersDto::getFirstName,
+            CustomersDto::getLastName,
+            CustomersDto::getEmail,
+            CustomersDto::getPassword,
+            CustomersDto::getPhoneNumber,
+            CustomersDto::getAddress,
+            CustomersDto::getCity,
+            CustomersDto::getState,
+            CustomersDto::getZipCore,
+            CustomersDto::getCountry
+    );
+
+    public static long exportToCsv(Stream<CustomersDto> customers, OutputStream os) throws IOException {
+        return WRITER.write(customers, os);
     }
 }
@@ -0,0 +1,106 @@
+package com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes a {@link Stream} as one array, JSON or CBOR, chosen from the {@code Accept} header.
+ * Rows are serialized as they come off the stream into the generator's small buffer, so neither
+ * the list nor the encoded body is held in memory. Both mappers come from the application's
+ * Jackson settings, so the JSON matches what the message converter writes for a {@code List}.
+ */
+@Component
+public class ListStreamWriter {
+
+    public static final MediaType APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+
+    private final Format json;
+    private final Format cbor;
+
+    @Autowired
+    public ListStreamWriter(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        this.json = new Format(MediaType.APPLICATION_JSON, objectMapper);
+        this.cbor = new Format(APPLICATION_CBOR, builder.factory(new CBORFactory()).build());
+    }
+
+    public Format negotiate(String accept) {
+        return APPLICATION_CBOR.equals(select(accept)) ? cbor : json;
+    }
+
+    /**
+     * JSON unless the client prefers CBOR. An {@code Accept} that allows neither is answered with 406.
+     */
+    public static MediaType select(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+            if (type.isCompatibleWith(APPLICATION_CBOR)) {
+                return APPLICATION_CBOR;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "Lists are available as application/json or application/cbor");
+    }
+
+    public static final class Format {
+
+        private final MediaType mediaType;
+        private final ObjectWriter writer;
+
+        private Format(MediaType mediaType, ObjectMapper mapper) {
+            this.mediaType = mediaType;
+            // Leave flushing to the generator buffer and the servlet stream open for the container.
+            this.writer = mapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public long write(Stream<?> rows, OutputStream os) throws IOException {
+            long count = 0;
+            try (SequenceWriter sequence = writer.writeValuesAsArray(os)) {
+                Iterator<?> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    sequence.write(iterator.next());
+                    count++;
+                }
+            }
+            os.flush();
+            return count;
+        }
+    }
+}
@@ -1,25 +1,24 @@
 package com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel;
 
-import com.opencsv.ICSVWriter;
-import com.opencsv.exceptions.CsvDataTypeMismatchException;
-import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
 import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
-import com.opencsv.bean.StatefulBeanToCsv;
-import com.opencsv.bean.StatefulBeanToCsvBuilder;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.util.stream.Stream;
 
 public class OrdersExport {
-    public static void exportToCsv(List<OrdersDto> orders, OutputStream os) throws IOException, CsvRequiredFieldEmptyException, CsvDataTypeMismatchException {
-        OutputStreamWriter writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
-        StatefulBeanToCsv<OrdersDto> beanToCsv = new StatefulBeanToCsvBuilder<OrdersDto>(writer)
-                .withSeparator(ICSVWriter.DEFAULT_SEPARATOR)
-                .build();
-        beanToCsv.write(orders);
-        writer.flush();
+
+    private static final CsvStreamWriter<OrdersDto> WRITER = new CsvStreamWriter<>(
+            OrdersDto::getId,
+            OrdersDto::getOrderDate,
+            OrdersDto::getStatus,
+            OrdersDto::getTotalAmount,
+            OrdersDto::getCustomerId,
+            OrdersDto::getPaymentMethodId,
+            OrdersDto::getShippingMethodId
+    );
+
+    public static long exportToCsv(Stream<OrdersDto> orders, OutputStream os) throws IOException {
+        return WRITER.write(orders, os);
     }
 }
@@ -1,25 +1,26 @@
 package com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel;
 
-import com.opencsv.ICSVWriter;
-import com.opencsv.bean.StatefulBeanToCsv;
-import com.opencsv.bean.StatefulBeanToCsvBuilder;
-import com.opencsv.exceptions.CsvDataTypeMismatchException;
-import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
 import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.util.stream.Stream;
 
 public class ProductsExport {
-    public static void exportToCsv(List<ProductsDto> orders, OutputStream os) throws IOException, CsvRequiredFieldEmptyException, CsvDataTypeMismatchException {
-        OutputStreamWriter writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
-        StatefulBeanToCsv<ProductsDto> beanToCsv = new StatefulBeanToCsvBuilder<ProductsDto>(writer)
-                .withSeparator(ICSVWriter.DEFAULT_SEPARATOR)
-                .build();
-        beanToCsv.write(orders);
-        writer.flush();
+
+    // Category and supplier are written as ids, so the file can be fed back to /api/electronics/import.
+    private static final CsvStreamWriter<ProductsDto> WRITER = new CsvStreamWriter<>(
+            ProductsDto::getId,
+            ProductsDto::getName,
+            ProductsDto::getDescription,
+            ProductsDto::getPrice,
+            ProductsDto::getQuantity,
+            ProductsDto::getImageUrl,
+            product -> product.getCategory() == null ? null : product.getCategory().getId(),
+            product -> product.getSupplier() == null ? null : product.getSupplier().getId()
+    );
+
+    public static long exportToCsv(Stream<ProductsDto> products, OutputStream os) throws IOException {
+        return WRITER.write(products, os);
     }
 }
@@ -0,0 +1,31 @@
+package com.websiteElectronics.websiteElectronics.Controllers;
+
+import com.websiteElectronics.websiteElectronics.Dtos.InventoryHoldDto;
+import com.websiteElectronics.websiteElectronics.Dtos.InventoryHoldRequest;
+import com.websiteElectronics.websiteElectronics.Services.InventoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/inventory/holds")
+public class InventoryController {
+
+    private final InventoryService inventoryService;
+
+    @Autowired
+    public InventoryController(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    @PostMapping
+    public ResponseEntity<InventoryHoldDto> placeHold(@RequestBody InventoryHoldRequest request) {
+        return ResponseEntity.ok(inventoryService.placeHold(request.getProductId(), request.getQuantity()));
+    }
+
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String holdId) {
+        inventoryService.releaseHold(holdId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,14 +1,23 @@
 package com.websiteElectronics.websiteElectronics.Controllers;
 
+import com.websiteElectronics.websiteElectronics.Dtos.InvoicePipelineStatsDto;
 import com.websiteElectronics.websiteElectronics.Dtos.InvoicesDto;
 import com.websiteElectronics.websiteElectronics.Entities.Orders;
 import com.websiteElectronics.websiteElectronics.Repositories.OrdersRepository;
+import com.websiteElectronics.websiteElectronics.Services.InvoiceStore;
 import com.websiteElectronics.websiteElectronics.Services.InvoicesService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +34,9 @@ public class InvoicesController {
     @Autowired
     private OrdersRepository ordersRepository;
 
+    @Autowired
+    private InvoiceStore invoiceStore;
+
     @PostMapping("/generate/{orderId}")
     public ResponseEntity<?> generateInvoiceForOrder(
             @PathVariable int orderId,
@@ -64,9 +76,10 @@ public class InvoicesController {
     @DeleteMapping("/cleanup-expired")
     public ResponseEntity<?> cleanupExpiredInvoices() {
         try {
-            invoicesService.deleteExpiredInvoices();
-            Map<String, String> response = new HashMap<>();
+            int deleted = invoicesService.deleteExpiredInvoices();
+            Map<String, Object> response = new HashMap<>();
             response.put("message", "Expired invoices cleanup completed successfully");
+            response.put("deleted", deleted);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -75,6 +88,42 @@ public class InvoicesController {
         }
     }
 
+    @GetMapping("/pipeline/stats")
+    public ResponseEntity<InvoicePipelineStatsDto> getPipelineStats() {
+        return ResponseEntity.ok(invoicesService.getPipelineStats());
+    }
+
+    /**
+     * Clients that accept gzip get the stored bytes as they are, copied with transferTo; others
+     * get the file decompressed on the fly.
+     */
+    @GetMapping("/order/{orderId}/file")
+    public ResponseEntity<StreamingResponseBody> downloadInvoiceFile(
+            @PathVariable Long orderId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) throws Exception {
+        String key = invoicesService.getInvoiceByOrderId(orderId)
+                .map(InvoicesDto::getFileUrl)
+                .filter(invoiceStore::exists)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Invoice file not found for order ID: " + orderId));
+
+        String extension = invoiceStore.extensionOf(key);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType("pdf".equals(extension) ? MediaType.APPLICATION_PDF : new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"HoaDon_" + orderId + "." + extension + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (invoiceStore.isCompressed(key) && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(invoiceStore.storedSize(key))
+                    .body(out -> invoiceStore.transferTo(key, Channels.newChannel(out)));
+        }
+        return response.body(out -> {
+            try (InputStream in = invoiceStore.open(key)) {
+                in.transferTo(out);
+            }
+        });
+    }
+
     @GetMapping("/order/{orderId}")
     public ResponseEntity<?> getInvoiceByOrderId(@PathVariable Long orderId) {
         try {
@@ -0,0 +1,28 @@
+package com.websiteElectronics.websiteElectronics.Controllers;
+
+import com.websiteElectronics.websiteElectronics.Dtos.MailCampaignProgressDto;
+import com.websiteElectronics.websiteElectronics.Services.BulkMailDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/mail/campaigns")
+public class MailCampaignsController {
+
+    private final BulkMailDispatcher bulkMailDispatcher;
+
+    @Autowired
+    public MailCampaignsController(BulkMailDispatcher bulkMailDispatcher) {
+        this.bulkMailDispatcher = bulkMailDispatcher;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<MailCampaignProgressDto>> getCampaignProgress() {
+        return ResponseEntity.ok(bulkMailDispatcher.getCampaignProgress());
+    }
+}
@@ -1,21 +1,57 @@
 package com.websiteElectronics.websiteElectronics.Controllers;
 
 import com.websiteElectronics.websiteElectronics.Model.ManagersBehaviour;
+import com.websiteElectronics.websiteElectronics.Model.RevenueRollup;
 import com.websiteElectronics.websiteElectronics.Repositories.ManagersBehaviourRepository;
+import com.websiteElectronics.websiteElectronics.Services.RevenueRollupService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/mongo/managersBehaviour")
 public class ManagersBehaviourController {
     @Autowired
     ManagersBehaviourRepository managersBehaviourRepository;
 
+    @Autowired
+    RevenueRollupService revenueRollupService;
+
     @PostMapping("/addNewBehaviour")
     public void addNewBehaviour(@RequestBody ManagersBehaviour behaviour) {
         managersBehaviourRepository.save(behaviour);
     }
+
+    @GetMapping("/rollups/total")
+    public ResponseEntity<RevenueRollup> getTotalRollup() {
+        return ResponseEntity.ok(revenueRollupService.getTotal());
+    }
+
+    @GetMapping("/rollups/day/{day}")
+    public ResponseEntity<RevenueRollup> getDayRollup(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return ResponseEntity.ok(revenueRollupService.getDay(day));
+    }
+
+    @GetMapping("/rollups/category/{categoryId}")
+    public ResponseEntity<RevenueRollup> getCategoryRollup(@PathVariable int categoryId) {
+        return ResponseEntity.ok(revenueRollupService.getCategory(categoryId));
+    }
+
+    @GetMapping("/rollups/payment-method/{paymentMethodId}")
+    public ResponseEntity<RevenueRollup> getPaymentMethodRollup(@PathVariable int paymentMethodId) {
+        return ResponseEntity.ok(revenueRollupService.getPaymentMethod(paymentMethodId));
+    }
+
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Integer> rebuildRollups() {
+        return ResponseEntity.ok(revenueRollupService.rebuild());
+    }
 }
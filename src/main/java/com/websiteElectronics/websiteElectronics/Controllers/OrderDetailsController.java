@@ -1,15 +1,18 @@
 package com.websiteElectronics.websiteElectronics.Controllers;
 
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ListStreamWriter;
 import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.OrdersDetailExport;
 import com.websiteElectronics.websiteElectronics.Dtos.OrderDetailsDto;
 import com.websiteElectronics.websiteElectronics.Entities.Products;
 import com.websiteElectronics.websiteElectronics.Services.OrderDetailsService;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.util.List;
 
@@ -18,16 +21,22 @@ import java.util.List;
 @RequestMapping("/api/orderDetails")
 public class OrderDetailsController {
     private final OrderDetailsService orderDetailsService;
+    private final ListStreamWriter listStreamWriter;
 
     @Autowired
-    public OrderDetailsController(OrderDetailsService orderDetailsService) {
+    public OrderDetailsController(OrderDetailsService orderDetailsService, ListStreamWriter listStreamWriter) {
         this.orderDetailsService = orderDetailsService;
+        this.listStreamWriter = listStreamWriter;
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderDetailsDto>> getAllOrderDetails() {
-        List<OrderDetailsDto> lstOrderDetails = orderDetailsService.lstOrderDetails();
-        return ResponseEntity.ok(lstOrderDetails);
+    public void getAllOrderDetails(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                   HttpServletResponse response) throws IOException {
+        ListStreamWriter.Format format = listStreamWriter.negotiate(accept);
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        OutputStream body = response.getOutputStream();
+        orderDetailsService.writeAllOrderDetails(rows -> format.write(rows, body));
     }
 
     @GetMapping("/{id}")
@@ -1,18 +1,22 @@
 package com.websiteElectronics.websiteElectronics.Controllers;
 
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ListStreamWriter;
 import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.OrdersExport;
+import com.websiteElectronics.websiteElectronics.Dtos.CheckoutRequest;
 import com.websiteElectronics.websiteElectronics.Dtos.OrderStatsDto;
 import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+import com.websiteElectronics.websiteElectronics.Services.CustomerOrderStatsService;
 import com.websiteElectronics.websiteElectronics.Services.OrdersService;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
-import java.util.List;
 
 //@CrossOrigin("*")
 @RestController
@@ -20,10 +24,15 @@ import java.util.List;
 public class OrdersController {
 
     private final OrdersService ordersService;
+    private final CustomerOrderStatsService customerOrderStatsService;
+    private final ListStreamWriter listStreamWriter;
 
     @Autowired
-    public OrdersController(OrdersService ordersService) {
+    public OrdersController(OrdersService ordersService, CustomerOrderStatsService customerOrderStatsService,
+                            ListStreamWriter listStreamWriter) {
         this.ordersService = ordersService;
+        this.customerOrderStatsService = customerOrderStatsService;
+        this.listStreamWriter = listStreamWriter;
     }
 
     @PostMapping
@@ -31,6 +40,11 @@ public class OrdersController {
         return ResponseEntity.ok(ordersService.createOrder(orderDto));
     }
 
+    @PostMapping("/checkout")
+    public ResponseEntity<OrdersDto> checkout(@RequestBody CheckoutRequest request) {
+        return ResponseEntity.ok(ordersService.checkout(request));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<OrdersDto> updateOrder(@PathVariable int id, @RequestBody OrdersDto orderDto) {
         return ResponseEntity.ok(ordersService.updateOrder(id, orderDto));
@@ -48,8 +62,13 @@ public class OrdersController {
     }
 
     @GetMapping
-    public ResponseEntity<List<OrdersDto>> getAllOrders() {
-        return ResponseEntity.ok(ordersService.getAllOrders());
+    public void getAllOrders(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                             HttpServletResponse response) throws IOException {
+        ListStreamWriter.Format format = listStreamWriter.negotiate(accept);
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        OutputStream body = response.getOutputStream();
+        ordersService.writeAllOrders(rows -> format.write(rows, body));
     }
 
     @GetMapping("/stats/{customerId}")
@@ -57,12 +76,17 @@ public class OrdersController {
         return ResponseEntity.ok(ordersService.getOrderStatsByCustomerId(customerId));
     }
 
+    @PostMapping("/stats/reconcile")
+    public ResponseEntity<Integer> reconcileStats() {
+        return ResponseEntity.ok(customerOrderStatsService.reconcile());
+    }
+
     @GetMapping("/export/excel")
     public void exportOrders(HttpServletResponse response) throws Exception {
         response.setContentType("text/csv");
         response.setHeader("Content-Disposition", "attachment; filename=orders.csv");
 
-        List<OrdersDto> orders = ordersService.getAllOrders();
-        OrdersExport.exportToCsv(orders, response.getOutputStream());
+        OutputStream body = response.getOutputStream();
+        ordersService.writeAllOrders(rows -> OrdersExport.exportToCsv(rows, body));
     }
 }
@@ -0,0 +1,34 @@
+package com.websiteElectronics.websiteElectronics.Controllers;
+
+import com.websiteElectronics.websiteElectronics.Services.RevenueReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportsController {
+
+    private final RevenueReportService revenueReportService;
+
+    @Autowired
+    public ReportsController(RevenueReportService revenueReportService) {
+        this.revenueReportService = revenueReportService;
+    }
+
+    @PostMapping("/daily-revenue")
+    public ResponseEntity<Map<String, Object>> generateDailyRevenueReports(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) throws IOException {
+        int reports = revenueReportService.generateDailyRevenueReports(from, to);
+        return ResponseEntity.ok(Map.of("from", from, "to", to, "reportsWritten", reports));
+    }
+}
@@ -2,9 +2,11 @@ package com.websiteElectronics.websiteElectronics.Controllers;
 
 import com.websiteElectronics.websiteElectronics.Dtos.ReviewsDto;
 import com.websiteElectronics.websiteElectronics.Services.ReviewsService;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import java.util.List;
 
 //@CrossOrigin("*")
@@ -13,10 +15,17 @@ import java.util.List;
 public class ReviewsController {
 
     private final ReviewsService reviewsService;
+    private final TableVersions tableVersions;
 
     @Autowired
-    public ReviewsController(ReviewsService reviewsService) {
+    public ReviewsController(ReviewsService reviewsService, TableVersions tableVersions) {
         this.reviewsService = reviewsService;
+        this.tableVersions = tableVersions;
+    }
+
+    // Reviews are returned with the product and customer names.
+    private String reviewsTag() {
+        return tableVersions.etag(TableVersions.Table.REVIEWS, TableVersions.Table.PRODUCTS, TableVersions.Table.CUSTOMERS);
     }
 
     @PostMapping
@@ -25,13 +34,13 @@ public class ReviewsController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ReviewsDto>> getAllReviews() {
-        return ResponseEntity.ok(reviewsService.getAllReviews());
+    public ResponseEntity<List<ReviewsDto>> getAllReviews(ServletWebRequest request) {
+        return ConditionalGet.respond(request, reviewsTag(), reviewsService::getAllReviews);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ReviewsDto> getReviewById(@PathVariable int id) {
-        return ResponseEntity.ok(reviewsService.getReviewById(id));
+    public ResponseEntity<ReviewsDto> getReviewById(@PathVariable int id, ServletWebRequest request) {
+        return ConditionalGet.respond(request, reviewsTag(), () -> reviewsService.getReviewById(id));
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,7 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+public interface CategorySales {
+    Integer getCategoryId();
+    Long getOrderCount();
+    Long getSales();
+}
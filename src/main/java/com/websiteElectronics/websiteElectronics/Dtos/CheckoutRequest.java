@@ -0,0 +1,22 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutRequest {
+    private int customerId;
+    private int paymentMethodId;
+    private int shippingMethodId;
+    // Inventory holds placed for items in the cart; their units are not taken from stock again.
+    private List<String> holdIds = List.of();
+
+    public CheckoutRequest(int customerId, int paymentMethodId, int shippingMethodId) {
+        this(customerId, paymentMethodId, shippingMethodId, List.of());
+    }
+}
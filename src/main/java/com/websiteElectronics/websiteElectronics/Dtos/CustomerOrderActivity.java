@@ -0,0 +1,12 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+import java.time.LocalDateTime;
+
+public interface CustomerOrderActivity {
+    Integer getCustomerId();
+    String getFirstName();
+    String getLastName();
+    String getEmail();
+    Long getOrderCount();
+    LocalDateTime getLastOrderDate();
+}
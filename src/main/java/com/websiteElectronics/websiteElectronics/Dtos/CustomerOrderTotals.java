@@ -0,0 +1,7 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+public interface CustomerOrderTotals {
+    Integer getCustomerId();
+    Long getOrderCount();
+    Long getTotalAmount();
+}
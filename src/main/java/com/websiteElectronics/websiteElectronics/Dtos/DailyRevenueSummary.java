@@ -0,0 +1,11 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+import java.time.LocalDate;
+
+public interface DailyRevenueSummary {
+    LocalDate getDay();
+    Long getOrderCount();
+    Long getTotalRevenue();
+    Long getShippedCount();
+    Long getDeliveryCount();
+}
@@ -0,0 +1,17 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryHoldDto {
+    private String holdId;
+    private int productId;
+    private int quantity;
+    private LocalDateTime expiresAt;
+}
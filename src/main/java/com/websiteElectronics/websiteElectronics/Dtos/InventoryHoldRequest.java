@@ -0,0 +1,13 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryHoldRequest {
+    private int productId;
+    private int quantity;
+}
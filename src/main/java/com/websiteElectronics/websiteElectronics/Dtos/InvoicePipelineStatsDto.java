@@ -0,0 +1,16 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InvoicePipelineStatsDto {
+    private List<InvoiceStageStatsDto> stages;
+    private Map<String, Long> outbox;
+}
@@ -0,0 +1,19 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InvoiceStageStatsDto {
+    private String stage;
+    private int workers;
+    private int active;
+    private int queued;
+    private int remainingCapacity;
+    private long completed;
+    private long failed;
+    private long rejected;
+}
@@ -0,0 +1,22 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MailCampaignProgressDto {
+    private String campaign;
+    private String status;
+    private long queued;
+    private long sent;
+    private long failed;
+    private long retried;
+    private long pending;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
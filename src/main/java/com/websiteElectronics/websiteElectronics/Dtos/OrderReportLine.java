@@ -0,0 +1,21 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderReportLine {
+    private int orderId;
+    private LocalDateTime orderDate;
+    private String status;
+    private int totalAmount;
+    private String customerFirstName;
+    private String customerLastName;
+    private String paymentMethodName;
+    private String shippingMethodName;
+}
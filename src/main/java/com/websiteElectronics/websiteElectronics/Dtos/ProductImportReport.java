@@ -0,0 +1,18 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportReport {
+    private long rows;
+    private long imported;
+    private long rejected;
+    // Capped; when rejected is larger, only the first errors are listed.
+    private List<ProductImportError> errors;
+}
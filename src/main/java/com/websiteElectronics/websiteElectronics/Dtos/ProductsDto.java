@@ -24,11 +24,13 @@ public class ProductsDto {
     @CsvBindByName(column = "Name")
     @NotNull(message = "Name is required")
     @Size(min = 5, message = "Name must be at least 5 characters")
+    @Size(max = 255, message = "Name must be at most 255 characters")
     private String name;
 
     @CsvBindByPosition(position = 2)
     @CsvBindByName(column = "Description")
     @NotNull(message = "Description is required")
+    @Size(max = 255, message = "Description must be at most 255 characters")
     private String description;
 
     @CsvBindByPosition(position = 3)
@@ -44,6 +46,7 @@ public class ProductsDto {
     @CsvBindByPosition(position = 5)
     @CsvBindByName(column = "Image URL")
     @NotNull(message = "ImageUrl is required")
+    @Size(max = 255, message = "ImageUrl must be at most 255 characters")
     private String imageUrl;
 
     @CsvBindByPosition(position = 6)
@@ -56,4 +59,11 @@ public class ProductsDto {
     @NotNull(message = "Supplier is required")
     private Suppliers supplier;
 
+    private Long version;
+
+    public ProductsDto(int id, String name, String description, int price, int quantity, String imageUrl,
+                       Categories category, Suppliers supplier) {
+        this(id, name, description, price, quantity, imageUrl, category, supplier, null);
+    }
+
 }
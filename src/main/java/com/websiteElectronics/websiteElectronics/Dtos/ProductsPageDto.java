@@ -0,0 +1,17 @@
+package com.websiteElectronics.websiteElectronics.Dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductsPageDto {
+    private List<ProductsDto> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+}
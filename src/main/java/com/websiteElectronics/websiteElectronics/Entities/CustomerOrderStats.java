@@ -0,0 +1,31 @@
+package com.websiteElectronics.websiteElectronics.Entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order count and amount spent per customer, kept in step with every order write so the stats
+ * endpoint is a primary-key lookup instead of an aggregate over {@code orders}.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "customer_order_stats")
+public class CustomerOrderStats {
+    @Id
+    @Column(name = "customer_id")
+    private int customerId;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private long totalAmount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
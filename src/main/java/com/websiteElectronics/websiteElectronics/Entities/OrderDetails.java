@@ -9,8 +9,26 @@ import lombok.*;
 @Getter
 @Setter
 @Entity
+@NamedEntityGraph(name = OrderDetails.WITH_ORDER_AND_PRODUCT,
+        attributeNodes = {
+                @NamedAttributeNode(value = "orderId", subgraph = "order"),
+                @NamedAttributeNode(value = "productId", subgraph = "product")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "order", attributeNodes = {
+                        @NamedAttributeNode("customer"),
+                        @NamedAttributeNode("paymentMethod"),
+                        @NamedAttributeNode("shippingMethod")
+                }),
+                @NamedSubgraph(name = "product", attributeNodes = {
+                        @NamedAttributeNode("category"),
+                        @NamedAttributeNode("supplier")
+                })
+        })
 public class OrderDetails {
 
+    public static final String WITH_ORDER_AND_PRODUCT = "OrderDetails.withOrderAndProduct";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "order_detail_id")
@@ -7,13 +7,20 @@ import java.time.LocalDateTime;
 import java.util.Date;
 
 @Entity
+@NamedEntityGraph(name = Orders.WITH_REFERENCES, attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("paymentMethod"),
+        @NamedAttributeNode("shippingMethod")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
-@Table(name = "Orders")
+@Table(name = "Orders", indexes = @Index(name = "idx_orders_order_date", columnList = "order_date"))
 public class Orders {
 
+    public static final String WITH_REFERENCES = "Orders.withReferences";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "order_id")
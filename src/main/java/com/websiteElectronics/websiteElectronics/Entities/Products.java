@@ -9,7 +9,7 @@ import lombok.*;
 @NoArgsConstructor
 @Getter
 @Setter
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_category", columnList = "category_id"))
 public class Products {
 
     @Id
@@ -34,4 +34,12 @@ public class Products {
     @JoinColumn(name = "supplier_id")
     private Suppliers supplier;
 
+    @Version
+    private long version;
+
+    public Products(int id, String name, String description, int price, int quantity, String imageUrl,
+                    Categories category, Suppliers supplier) {
+        this(id, name, description, price, quantity, imageUrl, category, supplier, 0);
+    }
+
 }
@@ -0,0 +1,15 @@
+package com.websiteElectronics.websiteElectronics.Events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after an order is created, updated or deleted. {@code before} is null for a
+ * new order and {@code after} is null for a deleted one.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderRevenueChangedEvent {
+    private final OrderRevenueSnapshot before;
+    private final OrderRevenueSnapshot after;
+}
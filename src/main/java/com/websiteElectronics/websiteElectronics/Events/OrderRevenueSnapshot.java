@@ -0,0 +1,24 @@
+package com.websiteElectronics.websiteElectronics.Events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * The parts of an order that feed the revenue rollups and customer stats, captured at the
+ * moment of a write. {@code customerId} is 0 for an order without a customer.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderRevenueSnapshot {
+    private int orderId;
+    private int customerId;
+    private LocalDate day;
+    private int paymentMethodId;
+    private long totalAmount;
+    private Map<Integer, Long> salesByCategory;
+}
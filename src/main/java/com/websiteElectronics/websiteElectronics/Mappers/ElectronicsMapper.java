@@ -14,7 +14,8 @@ public class ElectronicsMapper {
                 electronics.getQuantity(),
                 electronics.getImageUrl(),
                 electronics.getCategory(),
-                electronics.getSupplier()
+                electronics.getSupplier(),
+                electronics.getVersion()
         );
     }
 
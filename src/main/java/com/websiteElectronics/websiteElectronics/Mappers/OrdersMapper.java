@@ -4,8 +4,7 @@ import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
 import com.websiteElectronics.websiteElectronics.Entities.Orders;
 
 import com.websiteElectronics.websiteElectronics.Repositories.CustomersRepository;
-import com.websiteElectronics.websiteElectronics.Repositories.PaymentMethodsRepository;
-import com.websiteElectronics.websiteElectronics.Repositories.ShippingMethodsRepository;
+import com.websiteElectronics.websiteElectronics.Services.Impl.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -13,16 +12,13 @@ import org.springframework.stereotype.Component;
 public class OrdersMapper {
     
     private static CustomersRepository customersRepository;
-    private static PaymentMethodsRepository paymentMethodsRepository;
-    private static ShippingMethodsRepository shippingMethodsRepository;
+    private static ReferenceDataCache referenceDataCache;
     
     @Autowired
     public OrdersMapper(CustomersRepository customersRepository,
-                        PaymentMethodsRepository paymentMethodsRepository,
-                        ShippingMethodsRepository shippingMethodsRepository) {
+                        ReferenceDataCache referenceDataCache) {
         OrdersMapper.customersRepository = customersRepository;
-        OrdersMapper.paymentMethodsRepository = paymentMethodsRepository;
-        OrdersMapper.shippingMethodsRepository = shippingMethodsRepository;
+        OrdersMapper.referenceDataCache = referenceDataCache;
     }
     
     public static OrdersDto toDto(Orders order) {
@@ -45,9 +41,9 @@ public class OrdersMapper {
         entity.setOrderDate(dto.getOrderDate());
         entity.setStatus(dto.getStatus());
         entity.setTotalAmount(dto.getTotalAmount());
-        entity.setCustomer(customersRepository.findById(dto.getCustomerId()).orElse(null));
-        entity.setPaymentMethod(paymentMethodsRepository.findById(dto.getPaymentMethodId()).orElse(null));
-        entity.setShippingMethod(shippingMethodsRepository.findById(dto.getShippingMethodId()).orElse(null));
+        entity.setCustomer(dto.getCustomerId() > 0 ? customersRepository.getReferenceById(dto.getCustomerId()) : null);
+        entity.setPaymentMethod(referenceDataCache.getPaymentMethod(dto.getPaymentMethodId()).orElse(null));
+        entity.setShippingMethod(referenceDataCache.getShippingMethod(dto.getShippingMethodId()).orElse(null));
         return entity;
     }
 }
@@ -0,0 +1,37 @@
+package com.websiteElectronics.websiteElectronics.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running revenue totals for one dashboard bucket, keyed by {@code <dimension>:<key>}
+ * (for example {@code day:2024-05-01}, {@code category:3}, {@code paymentMethod:2}, {@code total:all}).
+ * Kept next to the manager snapshots in the existing managersBehaviour collection.
+ */
+@Document(collection = "managersBehaviour")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevenueRollup {
+    public static final String DAY = "day";
+    public static final String CATEGORY = "category";
+    public static final String PAYMENT_METHOD = "paymentMethod";
+    public static final String TOTAL = "total";
+
+    @Id
+    private String id;
+    private String dimension;
+    private String key;
+    private long totalOrders;
+    private double totalSales;
+    private LocalDateTime updatedAt;
+
+    public static String idOf(String dimension, Object key) {
+        return dimension + ":" + key;
+    }
+}
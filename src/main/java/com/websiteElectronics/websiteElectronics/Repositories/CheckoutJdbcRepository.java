@@ -0,0 +1,55 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC writes used by checkout. Order details use IDENTITY keys, which stops Hibernate
+ * from batching their inserts, so they go through {@link JdbcTemplate#batchUpdate} instead.
+ * Both methods run on the connection of the surrounding JPA transaction.
+ */
+@Repository
+public class CheckoutJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CheckoutJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes {@code quantities} (product id to units) out of stock in one statement. A product
+     * without enough stock is left alone, so the returned row count is smaller than the map.
+     */
+    public int decrementStock(Map<Integer, Integer> quantities) {
+        StringBuilder amount = new StringBuilder("CASE product_id");
+        List<Object> args = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> {
+            amount.append(" WHEN ? THEN ?");
+            args.add(productId);
+            args.add(quantity);
+        });
+        amount.append(" END");
+
+        String sql = "UPDATE products SET stock_quantity = stock_quantity - " + amount + ", version = version + 1" +
+                " WHERE stock_quantity >= " + amount +
+                " AND product_id IN (" + String.join(", ", Collections.nCopies(quantities.size(), "?")) + ")";
+        List<Object> allArgs = new ArrayList<>(args);
+        allArgs.addAll(args);
+        allArgs.addAll(quantities.keySet());
+        return jdbcTemplate.update(sql, allArgs.toArray());
+    }
+
+    public void insertOrderDetails(int orderId, Map<Integer, Integer> quantities) {
+        List<Object[]> rows = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> rows.add(new Object[]{orderId, productId, quantity}));
+        jdbcTemplate.batchUpdate("INSERT INTO order_details (order_id, product_id, quantity) VALUES (?, ?, ?)", rows);
+    }
+}
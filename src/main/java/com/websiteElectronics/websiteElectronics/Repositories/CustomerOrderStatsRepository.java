@@ -0,0 +1,34 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.websiteElectronics.websiteElectronics.Entities.CustomerOrderStats;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface CustomerOrderStatsRepository extends JpaRepository<CustomerOrderStats, Integer> {
+
+    /** Returns 0 when the customer has no stats row yet. */
+    @Modifying
+    @Query("UPDATE CustomerOrderStats s SET s.orderCount = s.orderCount + :orders, " +
+            "s.totalAmount = s.totalAmount + :amount, s.updatedAt = :now WHERE s.customerId = :customerId")
+    int increment(@Param("customerId") int customerId, @Param("orders") long orders,
+                  @Param("amount") long amount, @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CustomerOrderStats s WHERE s.customerId = :customerId")
+    Optional<CustomerOrderStats> findForUpdate(@Param("customerId") int customerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s FROM CustomerOrderStats s ORDER BY s.customerId")
+    Stream<CustomerOrderStats> streamAllOrderByCustomerId();
+}
@@ -1,9 +1,27 @@
 package com.websiteElectronics.websiteElectronics.Repositories;
 
+import com.websiteElectronics.websiteElectronics.Dtos.CustomersDto;
 import com.websiteElectronics.websiteElectronics.Entities.Customers;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface CustomersRepository extends JpaRepository<Customers, Integer> {
     Optional<Customers> findByEmail(String email);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Customers c WHERE c.id = :id")
+    Optional<Integer> lockById(@Param("id") int id);
+
+    @Query("SELECT new com.websiteElectronics.websiteElectronics.Dtos.CustomersDto(" +
+            "c.id, c.firstName, c.lastName, c.email, c.password, c.phoneNumber, " +
+            "c.address, c.city, c.state, c.zipCode, c.country) " +
+            "FROM Customers c WHERE c.id > :afterId ORDER BY c.id")
+    List<CustomersDto> findExportPageAfter(@Param("afterId") int afterId, Pageable pageable);
 }
@@ -1,11 +1,60 @@
 package com.websiteElectronics.websiteElectronics.Repositories;
 
 import com.websiteElectronics.websiteElectronics.Entities.Products;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Repository
 public interface ElectronicsRepositorys extends JpaRepository<Products, Integer> {
     List<Products> findByIdIn(List<Integer> ids);
+
+    @Query("SELECT p FROM Products p " +
+            "LEFT JOIN FETCH p.category " +
+            "LEFT JOIN FETCH p.supplier " +
+            "WHERE p.category.id IN :categoryIds " +
+            "ORDER BY p.id")
+    List<Products> findByCategoryIds(@Param("categoryIds") List<Integer> categoryIds);
+
+    @Query("SELECT p FROM Products p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.supplier WHERE p.id IN :ids")
+    List<Products> findWithReferencesByIdIn(@Param("ids") List<Integer> ids);
+
+    @Query("SELECT p FROM Products p LEFT JOIN FETCH p.category")
+    List<Products> findAllWithCategory();
+
+    // Both stock moves bump the version so an admin edit based on an older read fails
+    // its optimistic check instead of writing back a stale quantity.
+    @Transactional
+    @Modifying
+    @Query("UPDATE Products p SET p.quantity = p.quantity - :quantity, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.quantity >= :quantity")
+    int reserveStock(@Param("id") int id, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Products p SET p.quantity = p.quantity + :quantity, p.version = p.version + 1 WHERE p.id = :id")
+    int releaseStock(@Param("id") int id, @Param("quantity") int quantity);
+
+    // Keyset page: seeks past the last id of the previous page instead of using OFFSET,
+    // so the cost of a page does not grow with how deep the client has paged.
+    @Query("SELECT p FROM Products p " +
+            "LEFT JOIN FETCH p.category " +
+            "LEFT JOIN FETCH p.supplier " +
+            "WHERE p.id > :afterId " +
+            "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
+            "AND (:categoryId IS NULL OR p.category.id = :categoryId) " +
+            "AND (:supplierId IS NULL OR p.supplier.id = :supplierId) " +
+            "ORDER BY p.id")
+    List<Products> findPageAfter(@Param("afterId") int afterId,
+                                 @Param("minPrice") Integer minPrice,
+                                 @Param("maxPrice") Integer maxPrice,
+                                 @Param("categoryId") Integer categoryId,
+                                 @Param("supplierId") Integer supplierId,
+                                 Pageable pageable);
 }
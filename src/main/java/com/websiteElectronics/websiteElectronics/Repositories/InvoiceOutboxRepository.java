@@ -0,0 +1,15 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.websiteElectronics.websiteElectronics.Collections.InvoiceOutboxEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface InvoiceOutboxRepository extends MongoRepository<InvoiceOutboxEntry, String> {
+
+    List<InvoiceOutboxEntry> findByStatusInAndNextAttemptAtBefore(Collection<String> statuses, LocalDateTime before);
+
+    long countByStatus(String status);
+}
@@ -5,6 +5,7 @@ package com.websiteElectronics.websiteElectronics.Repositories;
  import org.springframework.stereotype.Repository;
 
  import java.time.LocalDateTime;
+ import java.util.Collection;
  import java.util.List;
  import java.util.Optional;
 
@@ -13,11 +14,11 @@ package com.websiteElectronics.websiteElectronics.Repositories;
 
      Optional<Invoices> findByOrderId(Long orderId);
 
+     List<Invoices> findByOrderIdIn(Collection<Long> orderIds);
+
      List<Invoices> findByCustomerId(Long customerId);
 
      boolean existsByOrderId(Long orderId);
 
      List<Invoices> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
-
-     List<Invoices> findByExpireAtBefore(LocalDateTime expireAt);
  }
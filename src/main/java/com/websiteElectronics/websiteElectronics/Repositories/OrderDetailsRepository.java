@@ -1,8 +1,14 @@
 package com.websiteElectronics.websiteElectronics.Repositories;
 
+import com.websiteElectronics.websiteElectronics.Dtos.CategorySales;
 import com.websiteElectronics.websiteElectronics.Entities.OrderDetails;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,5 +21,28 @@ public interface OrderDetailsRepository extends JpaRepository<OrderDetails, Inte
             "WHERE od.orderId.customer.id = :customerId")
     List<Integer> findProductIdsByCustomerId(@Param("customerId") Integer customerId);
 
+    @EntityGraph(OrderDetails.WITH_ORDER_AND_PRODUCT)
     List<OrderDetails> findByOrderId_Id(int orderId);
+
+    @EntityGraph(OrderDetails.WITH_ORDER_AND_PRODUCT)
+    @Query("SELECT od FROM OrderDetails od")
+    List<OrderDetails> findAllWithOrderAndProduct();
+
+    @EntityGraph(OrderDetails.WITH_ORDER_AND_PRODUCT)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT od FROM OrderDetails od WHERE od.id > :afterId ORDER BY od.id")
+    List<OrderDetails> findPageAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    @Query("SELECT p.category.id AS categoryId, COUNT(DISTINCT od.orderId.id) AS orderCount, " +
+            "SUM(od.quantity * p.price) AS sales " +
+            "FROM OrderDetails od JOIN od.productId p " +
+            "WHERE od.orderId.id = :orderId " +
+            "GROUP BY p.category.id")
+    List<CategorySales> sumSalesByCategoryForOrder(@Param("orderId") int orderId);
+
+    @Query("SELECT p.category.id AS categoryId, COUNT(DISTINCT od.orderId.id) AS orderCount, " +
+            "SUM(od.quantity * p.price) AS sales " +
+            "FROM OrderDetails od JOIN od.productId p " +
+            "GROUP BY p.category.id")
+    List<CategorySales> sumSalesByCategory();
 }
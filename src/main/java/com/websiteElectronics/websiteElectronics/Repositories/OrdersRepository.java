@@ -1,15 +1,90 @@
 package com.websiteElectronics.websiteElectronics.Repositories;
+import com.websiteElectronics.websiteElectronics.Dtos.CustomerOrderActivity;
+import com.websiteElectronics.websiteElectronics.Dtos.CustomerOrderTotals;
+import com.websiteElectronics.websiteElectronics.Dtos.DailyRevenueSummary;
+import com.websiteElectronics.websiteElectronics.Dtos.OrderReportLine;
+import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
 import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
-import java.util.List;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface OrdersRepository extends JpaRepository<Orders, Integer> {
-    @Query(value = "SELECT COUNT(order_id), SUM(total_amount) FROM orders WHERE customer_id = :customerId", nativeQuery = true)
-    List<Object[]> findOderStatsByCustomerId(@Param("customerId") Integer customerId);
+    @Query("SELECT o.customer.id AS customerId, COUNT(o.id) AS orderCount, COALESCE(SUM(o.totalAmount), 0) AS totalAmount " +
+            "FROM Orders o WHERE o.customer.id = :customerId GROUP BY o.customer.id")
+    Optional<CustomerOrderTotals> findTotalsByCustomerId(@Param("customerId") int customerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT o.customer.id AS customerId, COUNT(o.id) AS orderCount, COALESCE(SUM(o.totalAmount), 0) AS totalAmount " +
+            "FROM Orders o WHERE o.customer IS NOT NULL GROUP BY o.customer.id ORDER BY o.customer.id")
+    Stream<CustomerOrderTotals> streamTotalsByCustomer();
+
+    @EntityGraph(Orders.WITH_REFERENCES)
+    @Query("SELECT o FROM Orders o")
+    List<Orders> findAllWithReferences();
+
+    @EntityGraph(Orders.WITH_REFERENCES)
+    Optional<Orders> findWithReferencesById(int id);
+
+    @Query("SELECT o.id FROM Orders o ORDER BY o.id DESC")
+    List<Integer> findRecentIds(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id AS customerId, c.firstName AS firstName, c.lastName AS lastName, c.email AS email, " +
+            "COUNT(o.id) AS orderCount, MAX(o.orderDate) AS lastOrderDate " +
+            "FROM Customers c LEFT JOIN Orders o ON o.customer = c " +
+            "GROUP BY c.id, c.firstName, c.lastName, c.email " +
+            "HAVING MAX(o.orderDate) IS NULL OR MAX(o.orderDate) <= :since")
+    Stream<CustomerOrderActivity> streamCustomersWithoutOrdersSince(@Param("since") LocalDateTime since);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id AS customerId, c.firstName AS firstName, c.lastName AS lastName, c.email AS email, " +
+            "COUNT(o.id) AS orderCount, MAX(o.orderDate) AS lastOrderDate " +
+            "FROM Orders o JOIN o.customer c " +
+            "GROUP BY c.id, c.firstName, c.lastName, c.email " +
+            "HAVING COUNT(o.id) >= :minOrders")
+    Stream<CustomerOrderActivity> streamCustomersWithAtLeastOrders(@Param("minOrders") long minOrders);
+
+    @Query("SELECT new com.websiteElectronics.websiteElectronics.Dtos.OrdersDto(" +
+            "o.id, o.orderDate, o.status, o.totalAmount, COALESCE(c.id, 0), COALESCE(p.id, 0), COALESCE(s.id, 0)) " +
+            "FROM Orders o LEFT JOIN o.customer c LEFT JOIN o.paymentMethod p LEFT JOIN o.shippingMethod s " +
+            "WHERE o.id > :afterId ORDER BY o.id")
+    List<OrdersDto> findExportPageAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    @Query("SELECT CAST(o.orderDate AS LocalDate) AS day, COUNT(o.id) AS orderCount, " +
+            "COALESCE(SUM(o.totalAmount), 0) AS totalRevenue, " +
+            "SUM(CASE WHEN o.status = 'Shipped' THEN 1 ELSE 0 END) AS shippedCount, " +
+            "SUM(CASE WHEN o.status = 'Delivery' THEN 1 ELSE 0 END) AS deliveryCount " +
+            "FROM Orders o WHERE o.orderDate >= :from AND o.orderDate < :to " +
+            "GROUP BY CAST(o.orderDate AS LocalDate)")
+    List<DailyRevenueSummary> summarizeRevenueByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.websiteElectronics.websiteElectronics.Dtos.OrderReportLine(" +
+            "o.id, o.orderDate, o.status, o.totalAmount, c.firstName, c.lastName, p.name, s.name) " +
+            "FROM Orders o LEFT JOIN o.customer c LEFT JOIN o.paymentMethod p LEFT JOIN o.shippingMethod s " +
+            "WHERE o.orderDate >= :from AND o.orderDate < :to " +
+            "ORDER BY o.orderDate, o.id")
+    Stream<OrderReportLine> streamReportLines(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT CAST(o.orderDate AS LocalDate), COUNT(o.id), COALESCE(SUM(o.totalAmount), 0) " +
+            "FROM Orders o GROUP BY CAST(o.orderDate AS LocalDate)")
+    List<Object[]> sumRevenueByDay();
+
+    @Query("SELECT o.paymentMethod.id, COUNT(o.id), COALESCE(SUM(o.totalAmount), 0) " +
+            "FROM Orders o GROUP BY o.paymentMethod.id")
+    List<Object[]> sumRevenueByPaymentMethod();
 }
 
 
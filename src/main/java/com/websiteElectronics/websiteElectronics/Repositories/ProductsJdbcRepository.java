@@ -0,0 +1,67 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk product writes for the CSV import. Products use IDENTITY keys, so Hibernate would send
+ * one INSERT per row; here rows go out as multi-row INSERTs of up to {@value #ROWS_PER_STATEMENT}
+ * rows, which needs no driver setting such as MySQL's {@code rewriteBatchedStatements}. The
+ * generated ids are read back onto the products.
+ */
+@Repository
+public class ProductsJdbcRepository {
+
+    private static final int ROWS_PER_STATEMENT = 500;
+    private static final String INSERT = "INSERT INTO products" +
+            " (name, description, price, stock_quantity, image_url, category_id, supplier_id, version) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProductsJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int insertAll(List<Products> products) {
+        int inserted = 0;
+        for (int from = 0; from < products.size(); from += ROWS_PER_STATEMENT) {
+            List<Products> statement = products.subList(from, Math.min(from + ROWS_PER_STATEMENT, products.size()));
+            List<Object> args = new ArrayList<>(statement.size() * 7);
+            for (Products product : statement) {
+                args.add(product.getName());
+                args.add(product.getDescription());
+                args.add(product.getPrice());
+                args.add(product.getQuantity());
+                args.add(product.getImageUrl());
+                args.add(product.getCategory().getId());
+                args.add(product.getSupplier().getId());
+            }
+            String sql = INSERT + String.join(", ", Collections.nCopies(statement.size(), ROW));
+            KeyHolder keys = new GeneratedKeyHolder();
+            inserted += jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql, new String[]{"product_id"});
+                new ArgumentPreparedStatementSetter(args.toArray()).setValues(ps);
+                return ps;
+            }, keys);
+            // Drivers name the key column differently (MySQL reports GENERATED_KEY), so take each row's only value.
+            List<Map<String, Object>> keyList = keys.getKeyList();
+            for (int i = 0; i < statement.size(); i++) {
+                statement.get(i).setId(((Number) keyList.get(i).values().iterator().next()).intValue());
+            }
+        }
+        return inserted;
+    }
+}
@@ -1,6 +1,7 @@
 package com.websiteElectronics.websiteElectronics.Repositories;
 
 import com.websiteElectronics.websiteElectronics.Entities.ShoppingCart;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +9,6 @@ import java.util.List;
 
 @Repository
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Integer> {
+    @EntityGraph(attributePaths = {"product", "product.category"})
     List<ShoppingCart> findByCustomerId(Integer customerId);
 }
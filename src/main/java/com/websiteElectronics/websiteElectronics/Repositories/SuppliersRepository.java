@@ -0,0 +1,7 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.websiteElectronics.websiteElectronics.Entities.Suppliers;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SuppliersRepository extends JpaRepository<Suppliers, Integer> {
+}
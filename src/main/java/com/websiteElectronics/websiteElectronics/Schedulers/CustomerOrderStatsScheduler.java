@@ -0,0 +1,32 @@
+package com.websiteElectronics.websiteElectronics.Schedulers;
+
+import com.websiteElectronics.websiteElectronics.Services.CustomerOrderStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CustomerOrderStatsScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerOrderStatsScheduler.class);
+
+    private final CustomerOrderStatsService customerOrderStatsService;
+    private final ScheduledJobMetrics jobMetrics;
+
+    @Autowired
+    public CustomerOrderStatsScheduler(CustomerOrderStatsService customerOrderStatsService, ScheduledJobMetrics jobMetrics) {
+        this.customerOrderStatsService = customerOrderStatsService;
+        this.jobMetrics = jobMetrics;
+    }
+
+    @Scheduled(cron = "${customer-stats.reconcile.cron:0 30 3 * * ?}")
+    public void reconcileCustomerOrderStats() {
+        try {
+            jobMetrics.record("customer-order-stats-reconcile", customerOrderStatsService::reconcile);
+        } catch (Exception e) {
+            logger.error("Error reconciling customer order stats", e);
+        }
+    }
+}
@@ -15,12 +15,15 @@ public class InvoiceCleanupScheduler {
     @Autowired
     private InvoicesService invoicesService;
 
+    @Autowired
+    private ScheduledJobMetrics jobMetrics;
+
     @Scheduled(cron = "0 0 2 * * ?")
     public void cleanupExpiredInvoices() {
         logger.info("Starting scheduled cleanup of expired invoices...");
         try {
-            invoicesService.deleteExpiredInvoices();
-            logger.info("Scheduled cleanup of expired invoices completed successfully");
+            long deleted = jobMetrics.record("invoice-cleanup", invoicesService::deleteExpiredInvoices);
+            logger.info("Scheduled cleanup of expired invoices completed successfully, {} removed", deleted);
         } catch (Exception e) {
             logger.error("Error during scheduled cleanup of expired invoices", e);
         }
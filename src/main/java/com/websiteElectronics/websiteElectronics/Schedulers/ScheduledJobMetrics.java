@@ -0,0 +1,43 @@
+package com.websiteElectronics.websiteElectronics.Schedulers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records each scheduler run as {@code scheduler.job.duration} (tagged with the job and whether
+ * it succeeded) and adds the items it handled to {@code scheduler.job.items}. Exceptions still
+ * reach the scheduler so its own logging stays as it was.
+ */
+@Component
+public class ScheduledJobMetrics {
+
+    @FunctionalInterface
+    public interface Job {
+        long run() throws Exception;
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ScheduledJobMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public long record(String job, Job body) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            long items = body.run();
+            meterRegistry.counter("scheduler.job.items", "job", job).increment(items);
+            outcome = "success";
+            return items;
+        } finally {
+            sample.stop(Timer.builder("scheduler.job.duration")
+                    .tag("job", job)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
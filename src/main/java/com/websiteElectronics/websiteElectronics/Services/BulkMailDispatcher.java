@@ -0,0 +1,11 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Dtos.MailCampaignProgressDto;
+
+import java.util.List;
+
+public interface BulkMailDispatcher {
+    MailCampaign openCampaign(String name);
+
+    List<MailCampaignProgressDto> getCampaignProgress();
+}
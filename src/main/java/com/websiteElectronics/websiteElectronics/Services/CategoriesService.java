@@ -1,6 +1,7 @@
 package com.websiteElectronics.websiteElectronics.Services;
 
 import com.websiteElectronics.websiteElectronics.Dtos.CategoriesDto;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
 import java.util.List;
 
 public interface CategoriesService {
@@ -9,4 +10,7 @@ public interface CategoriesService {
     void deleteCategory(int id);
     CategoriesDto getCategoryById(int id);
     List<CategoriesDto> getAllCategories();
+    List<CategoriesDto> getAncestors(int id);
+    List<CategoriesDto> getDescendants(int id);
+    List<ProductsDto> getProductsInSubtree(int id);
 }
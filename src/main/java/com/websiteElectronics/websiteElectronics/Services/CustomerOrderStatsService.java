@@ -0,0 +1,8 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Events.OrderRevenueChangedEvent;
+
+public interface CustomerOrderStatsService {
+    void onOrderChanged(OrderRevenueChangedEvent event);
+    int reconcile();
+}
@@ -1,6 +1,8 @@
 package com.websiteElectronics.websiteElectronics.Services;
 
 import com.websiteElectronics.websiteElectronics.Dtos.CustomersDto;
+
+import java.io.IOException;
 import java.util.List;
 
 public interface CustomersService {
@@ -9,5 +11,6 @@ public interface CustomersService {
     void deleteCustomer(int id);
     CustomersDto getCustomerById(int id);
     List<CustomersDto> getAllCustomers();
+    long writeAllCustomers(RowSink<CustomersDto> sink) throws IOException;
     CustomersDto getCustomerByEmail(String email);
 }
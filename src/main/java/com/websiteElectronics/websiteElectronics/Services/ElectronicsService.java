@@ -1,11 +1,17 @@
 package com.websiteElectronics.websiteElectronics.Services;
 
 import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductsPageDto;
 
+import java.io.IOException;
 import java.util.List;
 
 public interface ElectronicsService {
     List<ProductsDto> getAllElectronics();
+    long writeAllElectronics(RowSink<ProductsDto> sink) throws IOException;
+    ProductsPageDto getElectronicsPage(Integer minPrice, Integer maxPrice, Integer categoryId, Integer supplierId, Integer size, String cursor);
+    List<ProductsDto> searchElectronics(String query, Integer minPrice, Integer maxPrice, Integer categoryId, Integer size);
+    List<String> suggestElectronics(String prefix, Integer size);
     ProductsDto getElectronicsById(int id);
     ProductsDto createElectronics(ProductsDto electronicsDto);
     ProductsDto updateElectronics(int id, ProductsDto electronicsDto);
@@ -4,5 +4,5 @@ import jakarta.mail.MessagingException;
 
 
 public interface EmailService {
-    void sendInvoiceEmail(String to, String subject, String content, String filePath) throws MessagingException;
+    void sendInvoiceEmail(String to, String subject, String content, String invoiceKey) throws MessagingException;
 }
@@ -0,0 +1,210 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Dtos.MailCampaignProgressDto;
+import com.websiteElectronics.websiteElectronics.Services.BulkMailDispatcher;
+import com.websiteElectronics.websiteElectronics.Services.MailCampaign;
+import com.websiteElectronics.websiteElectronics.Services.Impl.MailCampaignImpl.OutgoingMail;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends campaign mail through a fixed number of SMTP sessions. Each session drains a batch
+ * from the shared queue and hands it to {@link JavaMailSender#send(MimeMessage...)}, which
+ * delivers the whole batch over a single connection. Throughput is capped by a shared
+ * {@link TokenBucket}; messages the server rejects are retried with exponential backoff.
+ */
+@Service
+public class BulkMailDispatcherImpl implements BulkMailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkMailDispatcherImpl.class);
+
+    private final JavaMailSender mailSender;
+    private final int sessions;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final TokenBucket rateLimiter;
+    private final LinkedBlockingQueue<OutgoingMail> queue;
+    private final Map<String, MailCampaignImpl> campaigns = new ConcurrentHashMap<>();
+
+    private ExecutorService sessionExecutor;
+    private volatile boolean running;
+
+    @Autowired
+    public BulkMailDispatcherImpl(JavaMailSender mailSender,
+                                  @Value("${mail.bulk.sessions:4}") int sessions,
+                                  @Value("${mail.bulk.rate-per-second:20}") double ratePerSecond,
+                                  @Value("${mail.bulk.burst:20}") int burst,
+                                  @Value("${mail.bulk.batch-size:25}") int batchSize,
+                                  @Value("${mail.bulk.max-attempts:3}") int maxAttempts,
+                                  @Value("${mail.bulk.backoff-ms:1000}") long backoffMillis,
+                                  @Value("${mail.bulk.queue-capacity:1000}") int queueCapacity) {
+        this.mailSender = mailSender;
+        this.sessions = sessions;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.rateLimiter = new TokenBucket(ratePerSecond, burst);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        sessionExecutor = Executors.newFixedThreadPool(sessions, runnable -> {
+            Thread thread = new Thread(runnable, "mail-session-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < sessions; i++) {
+            sessionExecutor.execute(this::runSession);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        sessionExecutor.shutdownNow();
+    }
+
+    @Override
+    public MailCampaign openCampaign(String name) {
+        MailCampaignImpl campaign = new MailCampaignImpl(name, queue, this::logCompletion);
+        campaigns.put(name, campaign);
+        return campaign;
+    }
+
+    @Override
+    public List<MailCampaignProgressDto> getCampaignProgress() {
+        List<MailCampaignProgressDto> progress = new ArrayList<>();
+        for (MailCampaignImpl campaign : campaigns.values()) {
+            progress.add(campaign.toProgressDto());
+        }
+        return progress;
+    }
+
+    private void runSession() {
+        List<OutgoingMail> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                OutgoingMail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Mail session failed on a batch of {} emails", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendWithRetry(List<OutgoingMail> batch) throws InterruptedException {
+        List<OutgoingMail> pending = new ArrayList<>(batch);
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            rateLimiter.acquire(pending.size());
+
+            Map<MimeMessage, OutgoingMail> messages = new IdentityHashMap<>();
+            for (OutgoingMail mail : pending) {
+                try {
+                    messages.put(createMessage(mail), mail);
+                } catch (MessagingException | RuntimeException e) {
+                    logger.error("Invalid email for {} in campaign {}", mail.getTo(), mail.getCampaign().getName(), e);
+                    mail.getCampaign().recordFailed(1);
+                }
+            }
+
+            if (messages.isEmpty()) {
+                return;
+            }
+
+            // OutgoingMail has identity equality; a set keeps the sent check below linear in the batch.
+            Set<OutgoingMail> rejected = new LinkedHashSet<>();
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    rejected.addAll(messages.values());
+                } else {
+                    for (Object failedMessage : e.getFailedMessages().keySet()) {
+                        OutgoingMail mail = messages.get(failedMessage);
+                        if (mail != null) {
+                            rejected.add(mail);
+                        }
+                    }
+                }
+                logger.warn("SMTP rejected {} of {} emails (attempt {})", rejected.size(), messages.size(), attempt, e);
+            } catch (RuntimeException e) {
+                rejected.addAll(messages.values());
+                logger.warn("SMTP session failed for {} emails (attempt {})", messages.size(), attempt, e);
+            }
+
+            for (OutgoingMail mail : messages.values()) {
+                if (!rejected.contains(mail)) {
+                    mail.getCampaign().recordSent(1);
+                }
+            }
+
+            if (rejected.isEmpty()) {
+                return;
+            }
+            if (attempt >= maxAttempts) {
+                for (OutgoingMail mail : rejected) {
+                    logger.error("Giving up on {} in campaign {} after {} attempts",
+                            mail.getTo(), mail.getCampaign().getName(), attempt);
+                    mail.getCampaign().recordFailed(1);
+                }
+                return;
+            }
+            for (OutgoingMail mail : rejected) {
+                mail.getCampaign().recordRetried(1);
+            }
+            Thread.sleep(backoffMillis << (attempt - 1));
+            pending = new ArrayList<>(rejected);
+        }
+    }
+
+    private MimeMessage createMessage(OutgoingMail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setTo(mail.getTo());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getHtmlContent(), true);
+        return message;
+    }
+
+    private void logCompletion(MailCampaignImpl campaign) {
+        logger.info("Campaign {} completed - Sent: {}, Failed: {}",
+                campaign.getName(), campaign.getSentCount(), campaign.getFailedCount());
+    }
+}
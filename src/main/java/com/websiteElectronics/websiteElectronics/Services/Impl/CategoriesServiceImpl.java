@@ -1,11 +1,14 @@
 package com.websiteElectronics.websiteElectronics.Services.Impl;
 
 import com.websiteElectronics.websiteElectronics.Dtos.CategoriesDto;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
 import com.websiteElectronics.websiteElectronics.Entities.Categories;
 
 import com.websiteElectronics.websiteElectronics.Exceptions.NotFoundId;
 import com.websiteElectronics.websiteElectronics.Mappers.CategoriesMapper;
+import com.websiteElectronics.websiteElectronics.Mappers.ElectronicsMapper;
 import com.websiteElectronics.websiteElectronics.Repositories.CategoriesRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.ElectronicsRepositorys;
 import com.websiteElectronics.websiteElectronics.Services.CategoriesService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,35 +27,62 @@ public class CategoriesServiceImpl implements CategoriesService {
     private static final Logger logger = LoggerFactory.getLogger(CategoriesServiceImpl.class);
 
     private final CategoriesRepository categoriesRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ElectronicsRepositorys electronicsRepositorys;
+    private final TableVersions tableVersions;
 
     @Autowired
-    public CategoriesServiceImpl(CategoriesRepository categoriesRepository) {
+    public CategoriesServiceImpl(CategoriesRepository categoriesRepository,
+                                 ReferenceDataCache referenceDataCache,
+                                 ElectronicsRepositorys electronicsRepositorys,
+                                 TableVersions tableVersions) {
         this.categoriesRepository = categoriesRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.electronicsRepositorys = electronicsRepositorys;
+        this.tableVersions = tableVersions;
     }
 
     private Categories findId(int id) {
-        return categoriesRepository.findById(id)
+        return referenceDataCache.getCategory(id)
                 .orElseThrow(() -> {
                     logger.debug("Could not find category with id: {}", id);
                     return new ResponseStatusException(HttpStatus.NOT_FOUND, "Could not find category with id: " + id);
                 });
     }
 
+    private void checkParent(Integer id, Integer parentId) {
+        if (parentId == null) {
+            return;
+        }
+        CategoryTree tree = referenceDataCache.getCategoryTree();
+        if (!tree.contains(parentId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not find parent category with id: " + parentId);
+        }
+        if (id != null && tree.isInSubtree(id, parentId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Category " + id + " cannot be moved under its own subtree (" + parentId + ")");
+        }
+    }
+
     @Override
     public CategoriesDto createCategory(CategoriesDto categoryDto) {
+        checkParent(null, categoryDto.getParentId());
         Categories category = CategoriesMapper.toEntity(categoryDto);
         Categories saved = categoriesRepository.save(category);
+        referenceDataCache.putCategory(saved);
+        tableVersions.bump(TableVersions.Table.CATEGORIES);
         return CategoriesMapper.toDto(saved);
     }
 
     @Override
     public CategoriesDto updateCategory(int id, CategoriesDto categoryDto) {
 
-        Categories category = findId(id);
-        category.setName(categoryDto.getName());
-        category.setDescription(categoryDto.getDescription());
-        category.setParentId(categoryDto.getParentId());
+        findId(id);
+        checkParent(id, categoryDto.getParentId());
+        Categories category = new Categories(id, categoryDto.getName(), categoryDto.getDescription(), categoryDto.getParentId());
         Categories updated = categoriesRepository.save(category);
+        referenceDataCache.putCategory(updated);
+        tableVersions.bump(TableVersions.Table.CATEGORIES);
         return CategoriesMapper.toDto(updated);
     }
 
@@ -62,6 +92,8 @@ public class CategoriesServiceImpl implements CategoriesService {
             throw new NotFoundId("Category not found with id: " + id);
         }
         categoriesRepository.deleteById(id);
+        referenceDataCache.evictCategory(id);
+        tableVersions.bump(TableVersions.Table.CATEGORIES);
     }
 
 
@@ -73,8 +105,33 @@ public class CategoriesServiceImpl implements CategoriesService {
 
     @Override
     public List<CategoriesDto> getAllCategories() {
-        return categoriesRepository.findAll().parallelStream()
+        return referenceDataCache.getAllCategories().stream()
+                .map(CategoriesMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public List<CategoriesDto> getAncestors(int id) {
+        findId(id);
+        return referenceDataCache.getCategories(referenceDataCache.getCategoryTree().ancestorIds(id)).stream()
+                .map(CategoriesMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public List<CategoriesDto> getDescendants(int id) {
+        findId(id);
+        return referenceDataCache.getCategories(referenceDataCache.getCategoryTree().subtreeIds(id, false)).stream()
                 .map(CategoriesMapper::toDto)
                 .toList();
     }
+
+    @Override
+    public List<ProductsDto> getProductsInSubtree(int id) {
+        findId(id);
+        List<Integer> categoryIds = referenceDataCache.getCategoryTree().subtreeIds(id, true);
+        return electronicsRepositorys.findByCategoryIds(categoryIds).stream()
+                .map(ElectronicsMapper::mapToDto)
+                .toList();
+    }
 }
@@ -0,0 +1,133 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Entities.Categories;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable nested-set view of the category hierarchy. Every category gets the interval
+ * [left, right] of its preorder position and that of its last descendant, so a subtree is a
+ * contiguous slice of {@link #preorder} and "is X under Y" is two integer comparisons.
+ * Categories whose parent is missing are treated as roots; a parent cycle already stored in
+ * the database is broken at its lowest id rather than looping.
+ */
+public final class CategoryTree {
+
+    public static final CategoryTree EMPTY = build(List.of());
+
+    private final int[] preorder;
+    private final Map<Integer, Integer> left;
+    private final Map<Integer, Integer> right;
+    private final Map<Integer, Integer> parents;
+
+    private CategoryTree(int[] preorder, Map<Integer, Integer> left, Map<Integer, Integer> right, Map<Integer, Integer> parents) {
+        this.preorder = preorder;
+        this.left = left;
+        this.right = right;
+        this.parents = parents;
+    }
+
+    public static CategoryTree build(Collection<Categories> categories) {
+        Map<Integer, Integer> declaredParents = new TreeMap<>();
+        for (Categories category : categories) {
+            declaredParents.put(category.getId(), category.getParentId());
+        }
+
+        Map<Integer, List<Integer>> children = new HashMap<>();
+        List<Integer> roots = new ArrayList<>();
+        declaredParents.forEach((id, parentId) -> {
+            if (parentId == null || parentId.equals(id) || !declaredParents.containsKey(parentId)) {
+                roots.add(id);
+            } else {
+                children.computeIfAbsent(parentId, key -> new ArrayList<>()).add(id);
+            }
+        });
+
+        int[] preorder = new int[declaredParents.size()];
+        Map<Integer, Integer> left = new HashMap<>();
+        Map<Integer, Integer> right = new HashMap<>();
+        Map<Integer, Integer> parents = new HashMap<>();
+        int position = 0;
+        for (Integer root : roots) {
+            position = visit(root, children, preorder, position, left, right, parents);
+        }
+        for (Integer id : declaredParents.keySet()) {
+            if (!left.containsKey(id)) {
+                position = visit(id, children, preorder, position, left, right, parents);
+            }
+        }
+        return new CategoryTree(preorder, left, right, parents);
+    }
+
+    private static int visit(int root, Map<Integer, List<Integer>> children, int[] preorder, int position,
+                             Map<Integer, Integer> left, Map<Integer, Integer> right, Map<Integer, Integer> parents) {
+        Deque<int[]> stack = new ArrayDeque<>();
+        left.put(root, position);
+        preorder[position++] = root;
+        stack.push(new int[]{root, 0});
+        while (!stack.isEmpty()) {
+            int[] frame = stack.peek();
+            List<Integer> next = children.getOrDefault(frame[0], List.of());
+            if (frame[1] < next.size()) {
+                int child = next.get(frame[1]++);
+                if (left.containsKey(child)) {
+                    continue;
+                }
+                parents.put(child, frame[0]);
+                left.put(child, position);
+                preorder[position++] = child;
+                stack.push(new int[]{child, 0});
+            } else {
+                right.put(frame[0], position - 1);
+                stack.pop();
+            }
+        }
+        return position;
+    }
+
+    public boolean contains(int id) {
+        return left.containsKey(id);
+    }
+
+    public Integer parentOf(int id) {
+        return parents.get(id);
+    }
+
+    /** Ancestors of {@code id}, root first, not including {@code id} itself. */
+    public List<Integer> ancestorIds(int id) {
+        List<Integer> ancestors = new ArrayList<>();
+        for (Integer parent = parents.get(id); parent != null; parent = parents.get(parent)) {
+            ancestors.add(parent);
+        }
+        Collections.reverse(ancestors);
+        return ancestors;
+    }
+
+    /** Every category under {@code id} in preorder, optionally starting with {@code id} itself. */
+    public List<Integer> subtreeIds(int id, boolean includeSelf) {
+        Integer from = left.get(id);
+        if (from == null) {
+            return List.of();
+        }
+        int start = includeSelf ? from : from + 1;
+        List<Integer> ids = new ArrayList<>(right.get(id) - start + 1);
+        for (int i = start; i <= right.get(id); i++) {
+            ids.add(preorder[i]);
+        }
+        return ids;
+    }
+
+    public boolean isInSubtree(int rootId, int id) {
+        Integer rootLeft = left.get(rootId);
+        Integer position = left.get(id);
+        return rootLeft != null && position != null && rootLeft <= position && position <= right.get(rootId);
+    }
+}
@@ -0,0 +1,183 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Dtos.CustomerOrderTotals;
+import com.websiteElectronics.websiteElectronics.Entities.CustomerOrderStats;
+import com.websiteElectronics.websiteElectronics.Events.OrderRevenueChangedEvent;
+import com.websiteElectronics.websiteElectronics.Events.OrderRevenueSnapshot;
+import com.websiteElectronics.websiteElectronics.Repositories.CustomerOrderStatsRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.CustomersRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.OrdersRepository;
+import com.websiteElectronics.websiteElectronics.Services.CustomerOrderStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Maintains {@code customer_order_stats}. Each order write is applied as a delta (the old
+ * snapshot subtracted, the new one added) with an in-place {@code UPDATE ... SET x = x + ?}.
+ * A customer without a row is seeded from {@code orders} on their next order write.
+ * The listener runs synchronously, so inside checkout's transaction the stats commit or roll
+ * back together with the order.
+ * <p>
+ * {@link #reconcile} is the rebuild/verify job. It compares every row with the aggregate over
+ * {@code orders}, creates missing rows, drops rows of customers without orders and rewrites
+ * rows that drifted.
+ */
+@Service
+public class CustomerOrderStatsServiceImpl implements CustomerOrderStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerOrderStatsServiceImpl.class);
+
+    private final CustomerOrderStatsRepository statsRepository;
+    private final OrdersRepository ordersRepository;
+    private final CustomersRepository customersRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public CustomerOrderStatsServiceImpl(CustomerOrderStatsRepository statsRepository,
+                                         OrdersRepository ordersRepository,
+                                         CustomersRepository customersRepository,
+                                         TransactionTemplate transactionTemplate) {
+        this.statsRepository = statsRepository;
+        this.ordersRepository = ordersRepository;
+        this.customersRepository = customersRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    @EventListener
+    @Transactional
+    public void onOrderChanged(OrderRevenueChangedEvent event) {
+        Map<Integer, long[]> deltas = new LinkedHashMap<>();
+        collect(deltas, event.getBefore(), -1);
+        collect(deltas, event.getAfter(), 1);
+
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((customerId, delta) -> {
+            if (delta[0] == 0 && delta[1] == 0) {
+                return;
+            }
+            if (statsRepository.increment(customerId, delta[0], delta[1], now) == 0) {
+                // No row yet. Locking the customer row makes concurrent writers take turns, so
+                // exactly one of them inserts and the others increment. OrdersServiceImpl already
+                // holds this lock from before the order write, so this never upgrades a shared lock.
+                customersRepository.lockById(customerId);
+                if (statsRepository.increment(customerId, delta[0], delta[1], now) == 0) {
+                    seed(customerId, now);
+                }
+            }
+        });
+    }
+
+    /**
+     * The customer may have orders from before the table was filled, so the first row is counted
+     * from {@code orders} (which already include this write) rather than taken from the delta.
+     * A customer left without orders gets no row.
+     */
+    private void seed(int customerId, LocalDateTime now) {
+        ordersRepository.findTotalsByCustomerId(customerId)
+                .filter(total -> total.getOrderCount() > 0)
+                .ifPresent(total -> statsRepository.save(
+                        new CustomerOrderStats(customerId, total.getOrderCount(), total.getTotalAmount(), now)));
+    }
+
+    /**
+     * Returns the number of rows that were created, rewritten or removed. Drift is found in one
+     * read-only pass that merges both tables in customer order. Each drifted customer is then
+     * repaired in its own transaction, which recomputes the totals while holding the stats row,
+     * so order writes for other customers are never blocked.
+     */
+    @Override
+    public int reconcile() {
+        List<Integer> drifted = transactionTemplate.execute(status -> findDrift());
+        int repaired = 0;
+        for (Integer customerId : drifted) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> repair(customerId)))) {
+                repaired++;
+            }
+        }
+        logger.info("Customer order stats reconciled: {} drifted, {} repaired", drifted.size(), repaired);
+        return repaired;
+    }
+
+    private List<Integer> findDrift() {
+        List<Integer> drifted = new ArrayList<>();
+        try (Stream<CustomerOrderTotals> totals = ordersRepository.streamTotalsByCustomer();
+             Stream<CustomerOrderStats> rows = statsRepository.streamAllOrderByCustomerId()) {
+            Iterator<CustomerOrderTotals> expected = totals.iterator();
+            Iterator<CustomerOrderStats> actual = rows.iterator();
+            CustomerOrderTotals total = expected.hasNext() ? expected.next() : null;
+            CustomerOrderStats row = actual.hasNext() ? actual.next() : null;
+            while (total != null || row != null) {
+                int compare = total == null ? 1 : row == null ? -1 : Integer.compare(total.getCustomerId(), row.getCustomerId());
+                if (compare < 0) {
+                    drifted.add(total.getCustomerId());
+                    total = expected.hasNext() ? expected.next() : null;
+                } else if (compare > 0) {
+                    drifted.add(row.getCustomerId());
+                    row = actual.hasNext() ? actual.next() : null;
+                } else {
+                    if (total.getOrderCount() != row.getOrderCount() || total.getTotalAmount() != row.getTotalAmount()) {
+                        drifted.add(row.getCustomerId());
+                    }
+                    total = expected.hasNext() ? expected.next() : null;
+                    row = actual.hasNext() ? actual.next() : null;
+                }
+            }
+        }
+        return drifted;
+    }
+
+    private boolean repair(int customerId) {
+        // Same lock order as the write path: order writes lock the customer before they touch the
+        // stats row, so taking the customer first also keeps concurrent inserts from racing.
+        customersRepository.lockById(customerId);
+        CustomerOrderStats row = statsRepository.findForUpdate(customerId).orElse(null);
+        long orders = 0;
+        long amount = 0;
+        CustomerOrderTotals total = ordersRepository.findTotalsByCustomerId(customerId).orElse(null);
+        if (total != null) {
+            orders = total.getOrderCount();
+            amount = total.getTotalAmount();
+        }
+
+        if (row == null) {
+            if (orders == 0) {
+                return false;
+            }
+            statsRepository.save(new CustomerOrderStats(customerId, orders, amount, LocalDateTime.now()));
+        } else if (orders == 0) {
+            statsRepository.delete(row);
+        } else if (row.getOrderCount() != orders || row.getTotalAmount() != amount) {
+            logger.warn("Customer {} order stats drifted: {} orders / {} spent recorded, {} / {} actual",
+                    customerId, row.getOrderCount(), row.getTotalAmount(), orders, amount);
+            row.setOrderCount(orders);
+            row.setTotalAmount(amount);
+            row.setUpdatedAt(LocalDateTime.now());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static void collect(Map<Integer, long[]> deltas, OrderRevenueSnapshot snapshot, int sign) {
+        if (snapshot == null || snapshot.getCustomerId() <= 0) {
+            return;
+        }
+        long[] delta = deltas.computeIfAbsent(snapshot.getCustomerId(), id -> new long[2]);
+        delta[0] += sign;
+        delta[1] += sign * snapshot.getTotalAmount();
+    }
+}
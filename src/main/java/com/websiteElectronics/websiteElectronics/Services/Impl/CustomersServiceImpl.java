@@ -6,14 +6,18 @@ import com.websiteElectronics.websiteElectronics.Exceptions.NotFoundId;
 import com.websiteElectronics.websiteElectronics.Mappers.CustomersMapper;
 import com.websiteElectronics.websiteElectronics.Repositories.CustomersRepository;
 import com.websiteElectronics.websiteElectronics.Services.CustomersService;
+import com.websiteElectronics.websiteElectronics.Services.RowSink;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -24,10 +28,18 @@ public class CustomersServiceImpl implements CustomersService {
     private static final Logger logger = LoggerFactory.getLogger(CustomersServiceImpl.class);
 
     private final CustomersRepository customersRepository;
+    private final TableVersions tableVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${export.page-size:1000}")
+    private int exportPageSize;
 
     @Autowired
-    public CustomersServiceImpl(CustomersRepository customersRepository) {
+    public CustomersServiceImpl(CustomersRepository customersRepository, TableVersions tableVersions,
+                                TransactionTemplate transactionTemplate) {
         this.customersRepository = customersRepository;
+        this.tableVersions = tableVersions;
+        this.transactionTemplate = transactionTemplate;
     }
 
     private Customers findId(int id) {
@@ -42,6 +54,7 @@ public class CustomersServiceImpl implements CustomersService {
     public CustomersDto createCustomer(CustomersDto customerDto) {
         Customers customer = CustomersMapper.toEntity(customerDto);
         Customers saved = customersRepository.save(customer);
+        tableVersions.bump(TableVersions.Table.CUSTOMERS);
         return CustomersMapper.toDto(saved);
     }
 
@@ -60,6 +73,7 @@ public class CustomersServiceImpl implements CustomersService {
         customer.setZipCode(customerDto.getZipCore());
         customer.setCountry(customerDto.getCountry());
         Customers updated = customersRepository.save(customer);
+        tableVersions.bump(TableVersions.Table.CUSTOMERS);
         return CustomersMapper.toDto(updated);
     }
 
@@ -69,6 +83,7 @@ public class CustomersServiceImpl implements CustomersService {
             throw new NotFoundId("Customer not found with id: " + id);
         }
         customersRepository.deleteById(id);
+        tableVersions.bump(TableVersions.Table.CUSTOMERS);
     }
 
     @Override
@@ -84,6 +99,11 @@ public class CustomersServiceImpl implements CustomersService {
                 .toList();
     }
 
+    @Override
+    public long writeAllCustomers(RowSink<CustomersDto> sink) throws IOException {
+        return sink.write(KeysetPages.stream(transactionTemplate, exportPageSize, customersRepository::findExportPageAfter, CustomersDto::getId));
+    }
+
     @Override
     public CustomersDto getCustomerByEmail(String email) {
         Customers customer = customersRepository.findByEmail(email)
@@ -1,31 +1,69 @@
 package com.websiteElectronics.websiteElectronics.Services.Impl;
 
 import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductsPageDto;
 import com.websiteElectronics.websiteElectronics.Entities.Products;
 import com.websiteElectronics.websiteElectronics.Exceptions.NotFoundId;
 import com.websiteElectronics.websiteElectronics.Mappers.ElectronicsMapper;
 import com.websiteElectronics.websiteElectronics.Repositories.ElectronicsRepositorys;
 import com.websiteElectronics.websiteElectronics.Services.ElectronicsService;
+import com.websiteElectronics.websiteElectronics.Services.RowSink;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
 
 @Service
 public class ElectronicsServiceImpl implements ElectronicsService {
 
     private static final Logger logger = LoggerFactory.getLogger(ElectronicsServiceImpl.class);
 
+    private static final String CURSOR_PREFIX = "p1:";
+
     private final ElectronicsRepositorys electronicsRepositorys;
+    private final ProductSearchIndex productSearchIndex;
+    private final ReferenceDataCache referenceDataCache;
+    private final TableVersions tableVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${electronics.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${electronics.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${electronics.search.suggest-size:10}")
+    private int defaultSuggestSize;
+
+    @Value("${export.page-size:1000}")
+    private int exportPageSize;
 
     @Autowired
-    public ElectronicsServiceImpl(ElectronicsRepositorys electronicsRepositorys) {
+    public ElectronicsServiceImpl(ElectronicsRepositorys electronicsRepositorys,
+                                  ProductSearchIndex productSearchIndex,
+                                  ReferenceDataCache referenceDataCache,
+                                  TableVersions tableVersions,
+                                  TransactionTemplate transactionTemplate) {
         this.electronicsRepositorys = electronicsRepositorys;
+        this.productSearchIndex = productSearchIndex;
+        this.referenceDataCache = referenceDataCache;
+        this.tableVersions = tableVersions;
+        this.transactionTemplate = transactionTemplate;
     }
 
     private Products findId(int id) {
@@ -42,6 +80,83 @@ public class ElectronicsServiceImpl implements ElectronicsService {
         return lstElectronics.parallelStream().map(ElectronicsMapper::mapToDto).toList();
     }
 
+    @Override
+    public long writeAllElectronics(RowSink<ProductsDto> sink) throws IOException {
+        return sink.write(KeysetPages.stream(transactionTemplate, exportPageSize,
+                (afterId, page) -> electronicsRepositorys.findPageAfter(afterId, null, null, null, null, page).stream()
+                        .map(ElectronicsMapper::mapToDto).toList(),
+                ProductsDto::getId));
+    }
+
+    @Override
+    public ProductsPageDto getElectronicsPage(Integer minPrice, Integer maxPrice, Integer categoryId, Integer supplierId, Integer size, String cursor) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        int afterId = decodeCursor(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query.
+        List<Products> rows = electronicsRepositorys.findPageAfter(
+                afterId, minPrice, maxPrice, categoryId, supplierId, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Products> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1).getId()) : null;
+
+        List<ProductsDto> items = page.stream().map(ElectronicsMapper::mapToDto).toList();
+        return new ProductsPageDto(items, items.size(), hasMore, nextCursor);
+    }
+
+    private static String encodeCursor(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Unknown cursor version");
+            }
+            return Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Rejected electronics cursor: {}", cursor);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+        }
+    }
+
+    @Override
+    public List<ProductsDto> searchElectronics(String query, Integer minPrice, Integer maxPrice, Integer categoryId, Integer size) {
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        IntPredicate categoryFilter = null;
+        if (categoryId != null) {
+            // A category matches its whole subtree, the same way /api/categories/{id}/products does.
+            CategoryTree tree = referenceDataCache.getCategoryTree();
+            categoryFilter = tree.contains(categoryId)
+                    ? productCategoryId -> tree.isInSubtree(categoryId, productCategoryId)
+                    : productCategoryId -> productCategoryId == categoryId;
+        }
+
+        List<Integer> ids = productSearchIndex.search(query, minPrice, maxPrice, categoryFilter, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Products> loaded = new HashMap<>();
+        electronicsRepositorys.findWithReferencesByIdIn(ids).forEach(product -> loaded.put(product.getId(), product));
+        return ids.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .map(ElectronicsMapper::mapToDto)
+                .toList();
+    }
+
+    @Override
+    public List<String> suggestElectronics(String prefix, Integer size) {
+        int limit = size == null || size <= 0 ? defaultSuggestSize : Math.min(size, maxPageSize);
+        return productSearchIndex.suggest(prefix, limit);
+    }
+
     @Override
     public ProductsDto getElectronicsById(int id) {
         Products electronics = findId(id);
@@ -52,6 +167,8 @@ public class ElectronicsServiceImpl implements ElectronicsService {
     public ProductsDto createElectronics(ProductsDto electronicsDto) {
         Products electronics = ElectronicsMapper.mapToEntity(electronicsDto);
         Products savedElectronics = electronicsRepositorys.save(electronics);
+        productSearchIndex.index(savedElectronics);
+        tableVersions.bump(TableVersions.Table.PRODUCTS);
         return ElectronicsMapper.mapToDto(savedElectronics);
     }
 
@@ -59,6 +176,14 @@ public class ElectronicsServiceImpl implements ElectronicsService {
     @Override
     public ProductsDto updateElectronics(int id, ProductsDto electronicsDto) {
         Products electronics = findId(id);
+        if (electronicsDto.getVersion() != null && electronicsDto.getVersion() != electronics.getVersion()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Product " + id + " was changed since version " + electronicsDto.getVersion());
+        }
+        if (electronicsDto.getVersion() == null && electronicsDto.getQuantity() != electronics.getQuantity()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Changing the stock of product " + id + " requires the version it was read at");
+        }
         electronics.setName(electronicsDto.getName());
         electronics.setDescription(electronicsDto.getDescription());
         electronics.setPrice(electronicsDto.getPrice());
@@ -67,6 +192,8 @@ public class ElectronicsServiceImpl implements ElectronicsService {
         electronics.setCategory(electronicsDto.getCategory());
         electronics.setSupplier(electronicsDto.getSupplier());
         Products savedElectronics = electronicsRepositorys.save(electronics);
+        productSearchIndex.index(savedElectronics);
+        tableVersions.bump(TableVersions.Table.PRODUCTS);
         return ElectronicsMapper.mapToDto(savedElectronics);
     }
 
@@ -76,5 +203,7 @@ public class ElectronicsServiceImpl implements ElectronicsService {
             throw new NotFoundId("Product not found with id: " + id);
         }
         electronicsRepositorys.deleteById(id);
+        productSearchIndex.delete(id);
+        tableVersions.bump(TableVersions.Table.PRODUCTS);
     }
 }
@@ -1,29 +1,29 @@
 package com.websiteElectronics.websiteElectronics.Services.Impl;
 
 import com.websiteElectronics.websiteElectronics.Services.EmailService;
+import com.websiteElectronics.websiteElectronics.Services.InvoiceStore;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
-
 @Service
 public class EmailServiceImpl implements EmailService {
 
 
     private final JavaMailSender mailSender;
+    private final InvoiceStore invoiceStore;
 
     @Autowired
-    public EmailServiceImpl(JavaMailSender mailSender) {
+    public EmailServiceImpl(JavaMailSender mailSender, InvoiceStore invoiceStore) {
         this.mailSender = mailSender;
+        this.invoiceStore = invoiceStore;
     }
 
     @Override
-    public void sendInvoiceEmail(String to, String subject, String content, String filePath) throws MessagingException {
+    public void sendInvoiceEmail(String to, String subject, String content, String invoiceKey) throws MessagingException {
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
@@ -31,9 +31,9 @@ public class EmailServiceImpl implements EmailService {
         helper.setSubject(subject);
         helper.setText(content, true);
 
-        if (filePath != null && !filePath.isEmpty()) {
-            FileSystemResource file = new FileSystemResource(new File(filePath));
-            helper.addAttachment("HoaDon_" + System.currentTimeMillis() + ".txt", file);
+        if (invoiceKey != null && !invoiceKey.isEmpty()) {
+            // Attached decompressed; the source is reopened each time the mail is written out.
+            helper.addAttachment("HoaDon_" + System.currentTimeMillis() + "." + invoiceStore.extensionOf(invoiceKey), () -> invoiceStore.open(invoiceKey));
         }
 
         mailSender.send(message);
@@ -0,0 +1,73 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Services.InvoiceStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Keeps compressed invoices in memory under the same keys as {@link LocalDiskInvoiceStore}.
+ * Meant for tests and local runs ({@code invoice.store.type=memory}); nothing survives a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "invoice.store.type", havingValue = "memory")
+public class InMemoryInvoiceStore implements InvoiceStore {
+
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+
+    @Override
+    public String put(byte[] content, String extension, boolean compress) throws IOException {
+        String key = LocalDiskInvoiceStore.keyOf(content, extension, compress);
+        if (!files.containsKey(key)) {
+            files.putIfAbsent(key, compress ? LocalDiskInvoiceStore.gzip(content) : content.clone());
+        }
+        return key;
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        InputStream stored = new ByteArrayInputStream(stored(key));
+        return isCompressed(key) ? new GZIPInputStream(stored) : stored;
+    }
+
+    @Override
+    public long transferTo(String key, WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(stored(key));
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        return buffer.capacity();
+    }
+
+    @Override
+    public long storedSize(String key) throws IOException {
+        return stored(key).length;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return files.containsKey(key);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return files.remove(key) != null;
+    }
+
+    private byte[] stored(String key) throws NoSuchFileException {
+        byte[] content = files.get(key);
+        if (content == null) {
+            throw new NoSuchFileException(key);
+        }
+        return content;
+    }
+}
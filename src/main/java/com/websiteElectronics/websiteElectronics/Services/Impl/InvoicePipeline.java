@@ -0,0 +1,330 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Collections.InvoiceOutboxEntry;
+import com.websiteElectronics.websiteElectronics.Collections.Invoices;
+import com.websiteElectronics.websiteElectronics.Dtos.InvoicePipelineStatsDto;
+import com.websiteElectronics.websiteElectronics.Dtos.InvoiceStageStatsDto;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Repositories.InvoiceOutboxRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.InvoicesRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.OrdersRepository;
+import com.websiteElectronics.websiteElectronics.Services.EmailService;
+import com.websiteElectronics.websiteElectronics.Services.InvoiceFileService;
+import com.websiteElectronics.websiteElectronics.Templates.EmailTemplates;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invoice delivery split into render (load the order, write the file), persist (Mongo
+ * metadata) and mail (SMTP) stages. Each stage has its own bounded queue and workers, so a
+ * slow mail server backs up only the mail queue. Progress is recorded in the
+ * {@code invoiceOutbox} collection before anything is queued; when a queue is full the work
+ * simply stays in the outbox and {@link #resumePending()} offers it again later, including
+ * after a restart. An order whose outbox entry was never written, because Mongo was down when it
+ * committed, is found by the same sweep among the latest orders and started then.
+ */
+@Component
+public class InvoicePipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoicePipeline.class);
+
+    private static final List<String> RESUMABLE = List.of(
+            InvoiceOutboxEntry.PENDING, InvoiceOutboxEntry.RENDERED, InvoiceOutboxEntry.PERSISTED);
+
+    private final InvoiceOutboxRepository outboxRepository;
+    private final InvoicesRepository invoicesRepository;
+    private final OrdersRepository ordersRepository;
+    private final InvoiceFileService invoiceFileService;
+    private final EmailService emailService;
+    private final EmailTemplates emailTemplates;
+
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final Stage render;
+    private final Stage persist;
+    private final Stage mail;
+
+    // Entries queued or running in this process; keeps recovery from queueing them twice.
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${invoice.pipeline.recovery.orders:500}")
+    private int recoveryOrders;
+
+    @Value("${invoice.pipeline.recovery.expire-minutes:43200}")
+    private int recoveryExpireMinutes;
+
+    // Newest order id seen by the previous sweep. Only orders up to it are recovered, so an order
+    // whose after-commit submit is still running is not started a second time.
+    private volatile int settledOrderId;
+
+    @Autowired
+    public InvoicePipeline(InvoiceOutboxRepository outboxRepository,
+                           InvoicesRepository invoicesRepository,
+                           OrdersRepository ordersRepository,
+                           InvoiceFileService invoiceFileService,
+                           EmailService emailService,
+                           EmailTemplates emailTemplates,
+                           @Value("${invoice.pipeline.render.workers:2}") int renderWorkers,
+                           @Value("${invoice.pipeline.render.queue-capacity:200}") int renderCapacity,
+                           @Value("${invoice.pipeline.persist.workers:2}") int persistWorkers,
+                           @Value("${invoice.pipeline.persist.queue-capacity:200}") int persistCapacity,
+                           @Value("${invoice.pipeline.mail.workers:4}") int mailWorkers,
+                           @Value("${invoice.pipeline.mail.queue-capacity:500}") int mailCapacity,
+                           @Value("${invoice.pipeline.max-attempts:5}") int maxAttempts,
+                           @Value("${invoice.pipeline.backoff-ms:30000}") long backoffMs) {
+        this.outboxRepository = outboxRepository;
+        this.invoicesRepository = invoicesRepository;
+        this.ordersRepository = ordersRepository;
+        this.invoiceFileService = invoiceFileService;
+        this.emailService = emailService;
+        this.emailTemplates = emailTemplates;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.render = new Stage("render", renderWorkers, renderCapacity);
+        this.persist = new Stage("persist", persistWorkers, persistCapacity);
+        this.mail = new Stage("mail", mailWorkers, mailCapacity);
+    }
+
+    /** Records the invoice in the outbox and queues it; never blocks or throws because a stage is full. */
+    public void submit(int orderId, int expireMinutes) {
+        String id = InvoiceOutboxEntry.idOf(orderId);
+        Optional<InvoiceOutboxEntry> existing = outboxRepository.findById(id);
+        if (existing.isPresent() && !RESUMABLE.contains(existing.get().getStatus())) {
+            logger.debug("Invoice for order {} already {}", orderId, existing.get().getStatus());
+            return;
+        }
+        InvoiceOutboxEntry entry = existing.orElseGet(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            return outboxRepository.save(new InvoiceOutboxEntry(id, orderId, expireMinutes, InvoiceOutboxEntry.PENDING,
+                    null, null, 0, null, now, now, now));
+        });
+        dispatch(entry);
+    }
+
+    @Scheduled(fixedDelayString = "${invoice.pipeline.recovery-ms:30000}",
+            initialDelayString = "${invoice.pipeline.recovery-initial-delay-ms:10000}")
+    public int resumePending() {
+        int resumed = 0;
+        for (InvoiceOutboxEntry entry : outboxRepository.findByStatusInAndNextAttemptAtBefore(RESUMABLE, LocalDateTime.now())) {
+            if (!inFlight.contains(entry.getId()) && dispatch(entry)) {
+                resumed++;
+            }
+        }
+        resumed += startUnrecorded();
+        if (resumed > 0) {
+            logger.info("Resumed {} invoices from the outbox", resumed);
+        }
+        return resumed;
+    }
+
+    private int startUnrecorded() {
+        if (recoveryOrders <= 0) {
+            return 0;
+        }
+        List<Integer> recent = ordersRepository.findRecentIds(PageRequest.of(0, recoveryOrders));
+        int settled = settledOrderId;
+        if (!recent.isEmpty()) {
+            settledOrderId = recent.get(0);
+        }
+        List<Integer> candidates = recent.stream().filter(orderId -> orderId <= settled).toList();
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        Set<Integer> recorded = new HashSet<>();
+        outboxRepository.findAllById(candidates.stream().map(InvoiceOutboxEntry::idOf).toList())
+                .forEach(entry -> recorded.add(entry.getOrderId()));
+        invoicesRepository.findByOrderIdIn(candidates.stream().map(Integer::longValue).toList())
+                .forEach(invoice -> recorded.add(invoice.getOrderId().intValue()));
+
+        int started = 0;
+        for (int orderId : candidates) {
+            if (!recorded.contains(orderId)) {
+                logger.warn("Order {} has no invoice record, starting it now", orderId);
+                submit(orderId, recoveryExpireMinutes);
+                started++;
+            }
+        }
+        return started;
+    }
+
+    public InvoicePipelineStatsDto getStats() {
+        Map<String, Long> outbox = new LinkedHashMap<>();
+        for (String status : List.of(InvoiceOutboxEntry.PENDING, InvoiceOutboxEntry.RENDERED, InvoiceOutboxEntry.PERSISTED,
+                InvoiceOutboxEntry.SENT, InvoiceOutboxEntry.FAILED)) {
+            outbox.put(status, outboxRepository.countByStatus(status));
+        }
+        return new InvoicePipelineStatsDto(List.of(render.stats(), persist.stats(), mail.stats()), outbox);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Anything still queued keeps its outbox status and is picked up by the next start.
+        for (Stage stage : List.of(render, persist, mail)) {
+            stage.executor.shutdown();
+        }
+        for (Stage stage : List.of(render, persist, mail)) {
+            stage.executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private Stage stageFor(String status) {
+        return switch (status) {
+            case InvoiceOutboxEntry.PENDING -> render;
+            case InvoiceOutboxEntry.RENDERED -> persist;
+            case InvoiceOutboxEntry.PERSISTED -> mail;
+            default -> null;
+        };
+    }
+
+    private boolean dispatch(InvoiceOutboxEntry entry) {
+        Stage stage = stageFor(entry.getStatus());
+        if (stage == null || !inFlight.add(entry.getId())) {
+            return false;
+        }
+        if (!stage.offer(() -> run(stage, entry))) {
+            inFlight.remove(entry.getId());
+            logger.warn("Invoice {} stage queue full, order {} left in the outbox", stage.name, entry.getOrderId());
+            return false;
+        }
+        return true;
+    }
+
+    private void run(Stage stage, InvoiceOutboxEntry entry) {
+        boolean handedOff = false;
+        try {
+            switch (entry.getStatus()) {
+                case InvoiceOutboxEntry.PENDING -> renderInvoice(entry);
+                case InvoiceOutboxEntry.RENDERED -> persistInvoice(entry);
+                case InvoiceOutboxEntry.PERSISTED -> mailInvoice(entry);
+                default -> throw new IllegalStateException("Unexpected outbox status " + entry.getStatus());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            entry.setAttempts(0);
+            entry.setLastError(null);
+            entry.setUpdatedAt(now);
+            entry.setNextAttemptAt(now);
+            outboxRepository.save(entry);
+            stage.completed.increment();
+
+            Stage next = stageFor(entry.getStatus());
+            handedOff = next != null && next.offer(() -> run(next, entry));
+        } catch (Exception e) {
+            stage.failed.increment();
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            entry.setLastError(e.getMessage());
+            entry.setUpdatedAt(LocalDateTime.now());
+            entry.setNextAttemptAt(LocalDateTime.now().plusNanos(
+                    TimeUnit.MILLISECONDS.toNanos(backoffMs << Math.min(attempts - 1, 10))));
+            if (attempts >= maxAttempts) {
+                entry.setStatus(InvoiceOutboxEntry.FAILED);
+                logger.error("Giving up on invoice for order {} after {} attempts", entry.getOrderId(), attempts, e);
+            } else {
+                logger.warn("Invoice {} stage failed for order {} (attempt {}), will retry",
+                        stage.name, entry.getOrderId(), attempts, e);
+            }
+            try {
+                outboxRepository.save(entry);
+            } catch (Exception saveError) {
+                logger.error("Could not record invoice failure for order {}", entry.getOrderId(), saveError);
+            }
+        } finally {
+            if (!handedOff) {
+                inFlight.remove(entry.getId());
+            }
+        }
+    }
+
+    private Orders loadOrder(int orderId) {
+        return ordersRepository.findWithReferencesById(orderId)
+                .orElseThrow(() -> new IllegalStateException("Order " + orderId + " no longer exists"));
+    }
+
+    private void renderInvoice(InvoiceOutboxEntry entry) throws Exception {
+        entry.setFilePath(invoiceFileService.createInvoiceFile(loadOrder(entry.getOrderId())));
+        entry.setStatus(InvoiceOutboxEntry.RENDERED);
+    }
+
+    private void persistInvoice(InvoiceOutboxEntry entry) {
+        Orders order = loadOrder(entry.getOrderId());
+        Invoices invoice = invoicesRepository.findByOrderId((long) entry.getOrderId()).orElseGet(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            Long customerId = order.getCustomer() != null ? (long) order.getCustomer().getId() : null;
+            return invoicesRepository.save(new Invoices(null, (long) entry.getOrderId(), customerId, entry.getFilePath(),
+                    now, now.plusMinutes(entry.getExpireMinutes())));
+        });
+        entry.setInvoiceId(invoice.getId());
+        entry.setStatus(InvoiceOutboxEntry.PERSISTED);
+    }
+
+    private void mailInvoice(InvoiceOutboxEntry entry) throws Exception {
+        Orders order = loadOrder(entry.getOrderId());
+        String content = emailTemplates.renderInvoice(
+                order.getCustomer().getFirstName(),
+                order.getCustomer().getLastName(),
+                order.getTotalAmount(),
+                order.getId(),
+                order.getStatus());
+        emailService.sendInvoiceEmail(order.getCustomer().getEmail(), "Hóa đơn đơn hàng:" + order.getId(), content,
+                entry.getFilePath());
+        entry.setStatus(InvoiceOutboxEntry.SENT);
+    }
+
+    private static final class Stage {
+        private final String name;
+        private final int workers;
+        private final ThreadPoolExecutor executor;
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private Stage(String name, int workers, int capacity) {
+            this.name = name;
+            this.workers = Math.max(1, workers);
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(this.workers, this.workers, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, capacity)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "invoice-" + name + "-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        private boolean offer(Runnable task) {
+            try {
+                executor.execute(task);
+                return true;
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                return false;
+            }
+        }
+
+        private InvoiceStageStatsDto stats() {
+            return new InvoiceStageStatsDto(name, workers, executor.getActiveCount(), executor.getQueue().size(),
+                    executor.getQueue().remainingCapacity(), completed.sum(), failed.sum(), rejected.sum());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of claims whose signature has already been verified.
+ * Entries are keyed by a SHA-256 digest of the raw token and are dropped
+ * once the token's own expiration passes, so an expired token is always
+ * handed back to the parser and rejected there.
+ */
+public class JwtClaimsCache {
+
+    private final int maxEntries;
+    private final Map<String, CachedClaims> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public JwtClaimsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedClaims> eldest) {
+                return size() > JwtClaimsCache.this.maxEntries;
+            }
+        };
+    }
+
+    public Claims get(String token) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            CachedClaims cached = entries.get(key);
+            if (cached != null && cached.expiresAtMillis > now) {
+                hits.incrementAndGet();
+                return cached.claims;
+            }
+            if (cached != null) {
+                entries.remove(key);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String token, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (maxEntries <= 0 || expiration == null) {
+            return;
+        }
+        String key = digest(token);
+        synchronized (entries) {
+            entries.put(key, new CachedClaims(claims, expiration.getTime()));
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record CachedClaims(Claims claims, long expiresAtMillis) {
+    }
+}
@@ -3,11 +3,18 @@ package com.websiteElectronics.websiteElectronics.Services.Impl;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -23,6 +30,37 @@ public class JwtService {
     @Value("${jwt.expiration:3600000}")
     private Long jwtExpiration;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    private JwtClaimsCache claimsCache;
+    private Timer parseTimer;
+
+    @PostConstruct
+    void init() {
+        claimsCache = new JwtClaimsCache(claimsCacheMaxSize);
+        // Only cache misses pay for signature verification, so only they are timed.
+        parseTimer = Timer.builder("jwt.parse")
+                .description("Signature check and claims parsing of tokens not found in the claims cache")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofMillis(50))
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.claims.cache.requests", claimsCache, JwtClaimsCache::getHitCount)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.claims.cache.requests", claimsCache, JwtClaimsCache::getMissCount)
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public JwtClaimsCache getClaimsCache() {
+        return claimsCache;
+    }
+
     public String generateToken(UserDetails userDetails){
         Map<String, Object> claims = new HashMap<>();
 
@@ -58,10 +96,16 @@ public class JwtService {
     }
 
     public Claims extractAllClaims(String token){
-        return Jwts.parser()
+        Claims cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parseTimer.record(() -> Jwts.parser()
                 .setSigningKey(secretKey)
                 .parseClaimsJws(token)
-                .getBody();
+                .getBody());
+        claimsCache.put(token, claims);
+        return claims;
     }
 
     private Boolean isTokenExpired(String token){
@@ -69,13 +113,20 @@ public class JwtService {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails){
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(extractAllClaims(token), userDetails);
+    }
+
+    public Boolean validateToken(Claims claims, UserDetails userDetails){
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date()));
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> extractRoles(String token){
-        Claims claims = extractAllClaims(token);
+        return extractRoles(extractAllClaims(token));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> extractRoles(Claims claims){
         return (List<String>) claims.get("roles");
     }
 }
@@ -0,0 +1,38 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Streams a whole listing as consecutive keyset pages, in the style of the electronics
+ * {@code findPageAfter} query. Each page is read in its own short read-only transaction when the
+ * consumer reaches it, so no transaction or connection stays open while the rows already read
+ * are written to a slow client.
+ */
+final class KeysetPages {
+
+    private KeysetPages() {
+    }
+
+    static <T> Stream<T> stream(TransactionTemplate transactionTemplate, int pageSize,
+                                BiFunction<Integer, Pageable, List<T>> pageAfter, ToIntFunction<T> idOf) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        Pageable pageable = PageRequest.of(0, pageSize);
+
+        // A short page is the last one, so the final empty page is only queried when the row
+        // count is an exact multiple of the page size.
+        return Stream.iterate(readOnly.execute(status -> pageAfter.apply(0, pageable)),
+                        page -> !page.isEmpty(),
+                        page -> page.size() < pageSize
+                                ? List.of()
+                                : readOnly.execute(status -> pageAfter.apply(idOf.applyAsInt(page.get(page.size() - 1)), pageable)))
+                .flatMap(List::stream);
+    }
+}
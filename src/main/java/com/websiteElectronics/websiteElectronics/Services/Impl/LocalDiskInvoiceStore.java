@@ -0,0 +1,131 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Services.InvoiceStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Invoice files under {@code invoice.folder.path}, sharded two levels deep by the first bytes of
+ * the content hash ({@code ab/cd/abcd....txt.gz}) so no directory grows past a few thousand
+ * entries. A file is written to a temp file in its final directory and then renamed, so readers
+ * never see a partial invoice. Downloads use {@link FileChannel#transferTo}, which the JDK turns
+ * into a kernel-side copy when the target is a socket or file channel.
+ */
+@Component
+@ConditionalOnProperty(name = "invoice.store.type", havingValue = "local", matchIfMissing = true)
+public class LocalDiskInvoiceStore implements InvoiceStore {
+
+    private final Path root;
+
+    @Autowired
+    public LocalDiskInvoiceStore(@Value("${invoice.folder.path:D:/websiteElectronics/invoices}") String folderPath) {
+        this.root = Paths.get(folderPath).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String put(byte[] content, String extension, boolean compress) throws IOException {
+        String key = keyOf(content, extension, compress);
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            return key;
+        }
+
+        Path directory = target.getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "invoice", ".tmp");
+        try {
+            Files.write(temp, compress ? gzip(content) : content);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return key;
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        InputStream stored = Files.newInputStream(resolve(key));
+        return isCompressed(key) ? new GZIPInputStream(stored) : stored;
+    }
+
+    @Override
+    public long transferTo(String key, WritableByteChannel target) throws IOException {
+        try (FileChannel file = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            long size = file.size();
+            long position = 0;
+            while (position < size) {
+                position += file.transferTo(position, size - position, target);
+            }
+            return size;
+        }
+    }
+
+    @Override
+    public long storedSize(String key) throws IOException {
+        return Files.size(resolve(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        Path path = Paths.get(key);
+        if (path.isAbsolute()) {
+            // Files written before the store existed were recorded by absolute path.
+            return path;
+        }
+        Path resolved = root.resolve(path).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new IllegalArgumentException("Invoice key escapes the store: " + key);
+        }
+        return resolved;
+    }
+
+    static String keyOf(byte[] content, String extension, boolean compress) {
+        String hash;
+        try {
+            hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension + (compress ? GZIP_SUFFIX : "");
+    }
+
+    static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 3 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(content);
+        }
+        return buffer.toByteArray();
+    }
+}
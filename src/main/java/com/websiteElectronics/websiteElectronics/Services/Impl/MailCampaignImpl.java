@@ -0,0 +1,131 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Dtos.MailCampaignProgressDto;
+import com.websiteElectronics.websiteElectronics.Services.MailCampaign;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * One run of a marketing campaign. Producers {@link #submit} mails and {@link #close}
+ * the campaign once everything is queued; the SMTP sessions record the outcome of each mail.
+ */
+public class MailCampaignImpl implements MailCampaign {
+
+    @Getter
+    @AllArgsConstructor
+    static final class OutgoingMail {
+        private final MailCampaignImpl campaign;
+        private final String to;
+        private final String subject;
+        private final String htmlContent;
+    }
+
+    @Getter
+    private final String name;
+    private final BlockingQueue<OutgoingMail> queue;
+    private final Consumer<MailCampaignImpl> onFinished;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private LocalDateTime finishedAt;
+    // Waiters park on the latch instead of the monitor, which would pin a virtual thread.
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private volatile boolean closed;
+
+    MailCampaignImpl(String name, BlockingQueue<OutgoingMail> queue, Consumer<MailCampaignImpl> onFinished) {
+        this.name = name;
+        this.queue = queue;
+        this.onFinished = onFinished;
+    }
+
+    /**
+     * Blocks while the dispatcher queue is full, so a campaign never buffers more
+     * than the queue capacity in memory.
+     */
+    @Override
+    public void submit(String to, String subject, String htmlContent) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Campaign " + name + " is already closed");
+        }
+        queued.incrementAndGet();
+        queue.put(new OutgoingMail(this, to, subject, htmlContent));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        checkFinished();
+    }
+
+    @Override
+    public boolean awaitCompletion(Duration timeout) throws InterruptedException {
+        return finished.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long getQueuedCount() {
+        return queued.get();
+    }
+
+    @Override
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    @Override
+    public synchronized MailCampaignProgressDto toProgressDto() {
+        long done = sent.get() + failed.get();
+        return new MailCampaignProgressDto(
+                name,
+                finishedAt != null ? "COMPLETED" : (closed ? "DRAINING" : "QUEUEING"),
+                queued.get(),
+                sent.get(),
+                failed.get(),
+                retried.get(),
+                queued.get() - done,
+                startedAt,
+                finishedAt
+        );
+    }
+
+    void recordSent(int count) {
+        sent.addAndGet(count);
+        checkFinished();
+    }
+
+    void recordFailed(int count) {
+        failed.addAndGet(count);
+        checkFinished();
+    }
+
+    void recordRetried(int count) {
+        retried.addAndGet(count);
+    }
+
+    private void checkFinished() {
+        synchronized (this) {
+            if (finishedAt != null || !closed || sent.get() + failed.get() < queued.get()) {
+                return;
+            }
+            finishedAt = LocalDateTime.now();
+        }
+        finished.countDown();
+        onFinished.accept(this);
+    }
+}
@@ -7,14 +7,18 @@ import com.websiteElectronics.websiteElectronics.Mappers.OrderDetailsMapper;
 import com.websiteElectronics.websiteElectronics.Repositories.ElectronicsRepositorys;
 import com.websiteElectronics.websiteElectronics.Repositories.OrderDetailsRepository;
 import com.websiteElectronics.websiteElectronics.Services.OrderDetailsService;
+import com.websiteElectronics.websiteElectronics.Services.RowSink;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.util.List;
 
 @Service
@@ -26,10 +30,17 @@ public class OrderDetailsServiceImpl implements OrderDetailsService {
 
     private final ElectronicsRepositorys electronicsRepositorys;
 
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${export.page-size:1000}")
+    private int exportPageSize;
+
     @Autowired
-    public OrderDetailsServiceImpl(OrderDetailsRepository orderDetailsRepository, ElectronicsRepositorys electronicsRepositorys) {
+    public OrderDetailsServiceImpl(OrderDetailsRepository orderDetailsRepository, ElectronicsRepositorys electronicsRepositorys,
+                                   TransactionTemplate transactionTemplate) {
         this.orderDetailsRepository = orderDetailsRepository;
         this.electronicsRepositorys = electronicsRepositorys;
+        this.transactionTemplate = transactionTemplate;
     }
 
     private OrderDetails findId(int id) {
@@ -42,8 +53,16 @@ public class OrderDetailsServiceImpl implements OrderDetailsService {
 
     @Override
     public List<OrderDetailsDto> lstOrderDetails() {
-        List<OrderDetails> lst = orderDetailsRepository.findAll();
-        return lst.parallelStream().map(OrderDetailsMapper::toDto).toList();
+        List<OrderDetails> lst = orderDetailsRepository.findAllWithOrderAndProduct();
+        return lst.stream().map(OrderDetailsMapper::toDto).toList();
+    }
+
+    @Override
+    public long writeAllOrderDetails(RowSink<OrderDetailsDto> sink) throws IOException {
+        // Mapped inside the page's transaction; the page's entities are gone once it commits.
+        return sink.write(KeysetPages.stream(transactionTemplate, exportPageSize,
+                (afterId, page) -> orderDetailsRepository.findPageAfter(afterId, page).stream().map(OrderDetailsMapper::toDto).toList(),
+                OrderDetailsDto::getId));
     }
 
     @Override
@@ -1,24 +1,48 @@
 package com.websiteElectronics.websiteElectronics.Services.Impl;
 
+import com.websiteElectronics.websiteElectronics.Dtos.CheckoutRequest;
 import com.websiteElectronics.websiteElectronics.Dtos.OrderStatsDto;
 import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+import com.websiteElectronics.websiteElectronics.Dtos.CategorySales;
 import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Entities.PaymentMethods;
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Entities.ShippingMethods;
+import com.websiteElectronics.websiteElectronics.Entities.ShoppingCart;
+import com.websiteElectronics.websiteElectronics.Events.OrderRevenueChangedEvent;
+import com.websiteElectronics.websiteElectronics.Events.OrderRevenueSnapshot;
 import com.websiteElectronics.websiteElectronics.Exceptions.NotFoundId;
 import com.websiteElectronics.websiteElectronics.Mappers.OrdersMapper;
+import com.websiteElectronics.websiteElectronics.Repositories.CheckoutJdbcRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.CustomerOrderStatsRepository;
 import com.websiteElectronics.websiteElectronics.Repositories.CustomersRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.OrderDetailsRepository;
 import com.websiteElectronics.websiteElectronics.Repositories.OrdersRepository;
-import com.websiteElectronics.websiteElectronics.Repositories.PaymentMethodsRepository;
-import com.websiteElectronics.websiteElectronics.Repositories.ShippingMethodsRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.ShoppingCartRepository;
+import com.websiteElectronics.websiteElectronics.Services.InventoryService;
 import com.websiteElectronics.websiteElectronics.Services.InvoicesService;
 import com.websiteElectronics.websiteElectronics.Services.OrdersService;
+import com.websiteElectronics.websiteElectronics.Services.RowSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 
 @Service
@@ -29,20 +53,44 @@ public class OrdersServiceImpl implements OrdersService {
     private final OrdersRepository ordersRepository;
     private final InvoicesService invoicesService;
     private final CustomersRepository customersRepository;
-    private final PaymentMethodsRepository paymentMethodsRepository;
-    private final ShippingMethodsRepository shippingMethodsRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final OrderDetailsRepository orderDetailsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final CheckoutJdbcRepository checkoutJdbcRepository;
+    private final CustomerOrderStatsRepository customerOrderStatsRepository;
+    private final TableVersions tableVersions;
+    private final InventoryService inventoryService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${export.page-size:1000}")
+    private int exportPageSize;
 
     @Autowired
     public OrdersServiceImpl(OrdersRepository ordersRepository, 
                             InvoicesService invoicesService,
                             CustomersRepository customersRepository,
-                            PaymentMethodsRepository paymentMethodsRepository,
-                            ShippingMethodsRepository shippingMethodsRepository) {
+                            ReferenceDataCache referenceDataCache,
+                            OrderDetailsRepository orderDetailsRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            ShoppingCartRepository shoppingCartRepository,
+                            CheckoutJdbcRepository checkoutJdbcRepository,
+                            CustomerOrderStatsRepository customerOrderStatsRepository,
+                            TableVersions tableVersions,
+                            InventoryService inventoryService,
+                            TransactionTemplate transactionTemplate) {
         this.ordersRepository = ordersRepository;
         this.invoicesService = invoicesService;
         this.customersRepository = customersRepository;
-        this.paymentMethodsRepository = paymentMethodsRepository;
-        this.shippingMethodsRepository = shippingMethodsRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.orderDetailsRepository = orderDetailsRepository;
+        this.eventPublisher = eventPublisher;
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.checkoutJdbcRepository = checkoutJdbcRepository;
+        this.customerOrderStatsRepository = customerOrderStatsRepository;
+        this.tableVersions = tableVersions;
+        this.inventoryService = inventoryService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     private Orders findId(int id){
@@ -54,49 +102,197 @@ public class OrdersServiceImpl implements OrdersService {
 
     }
 
+    private OrderRevenueSnapshot snapshot(Orders order) {
+        Map<Integer, Long> salesByCategory = new HashMap<>();
+        for (CategorySales sales : orderDetailsRepository.sumSalesByCategoryForOrder(order.getId())) {
+            salesByCategory.put(sales.getCategoryId(), sales.getSales());
+        }
+        return snapshot(order, salesByCategory);
+    }
+
+    private OrderRevenueSnapshot snapshot(Orders order, Map<Integer, Long> salesByCategory) {
+        return new OrderRevenueSnapshot(
+                order.getId(),
+                customerId(order),
+                order.getOrderDate() != null ? order.getOrderDate().toLocalDate() : null,
+                order.getPaymentMethod() != null ? order.getPaymentMethod().getId() : 0,
+                order.getTotalAmount(),
+                salesByCategory
+        );
+    }
+
+    /**
+     * Locks the customers an order write touches, in id order, before the order row is written.
+     * The stats listener needs this lock to seed a missing row. On InnoDB the foreign key check of
+     * the order insert already holds a shared lock on the customer, and upgrading it afterwards
+     * deadlocks two concurrent orders of the same customer.
+     */
+    private void lockCustomers(int... customerIds) {
+        Arrays.stream(customerIds)
+                .filter(id -> id > 0)
+                .sorted()
+                .distinct()
+                .forEach(customersRepository::lockById);
+    }
+
+    private static int customerId(Orders order) {
+        return order.getCustomer() != null ? order.getCustomer().getId() : 0;
+    }
+
+    private void queueInvoiceAfterCommit(Orders order) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The order is committed; an invoice problem must not turn the response into an error.
+                // An order left without an outbox entry is picked up by InvoicePipeline's recovery.
+                try {
+                    invoicesService.queueInvoice(order, 43200);
+                } catch (RuntimeException e) {
+                    logger.error("Could not queue the invoice for order {}", order.getId(), e);
+                }
+            }
+        });
+    }
+
+    // The stats listener runs in the caller's transaction, so every order write is transactional
+    // and its stats commit or roll back with it.
     @Override
+    @Transactional
     public OrdersDto createOrder(OrdersDto orderDto) {
+        lockCustomers(orderDto.getCustomerId());
         Orders order = OrdersMapper.toEntity(orderDto);
         Orders saved = ordersRepository.save(order);
+        eventPublisher.publishEvent(new OrderRevenueChangedEvent(null, snapshot(saved, Map.of())));
+        queueInvoiceAfterCommit(saved);
 
-        invoicesService.generateAndSendInvoiceAsync(saved, 43200)
-                .thenAccept(invoice -> logger.info("Invoice created and sent for order ID: {}", saved.getId()))
-                .exceptionally(ex -> {
-                    logger.error("Failed to create/send invoice for order ID: {}", saved.getId(), ex);
-                    return null;
-                });
+        return OrdersMapper.toDto(saved);
+    }
+
+    @Override
+    @Transactional
+    public OrdersDto checkout(CheckoutRequest request) {
+        // The customer lock comes first (see lockCustomers) and also makes concurrent checkouts
+        // of the same cart take turns.
+        customersRepository.lockById(request.getCustomerId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Could not find customer with id: " + request.getCustomerId()));
+        List<ShoppingCart> cart = shoppingCartRepository.findByCustomerId(request.getCustomerId());
+        if (cart.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cart is empty for customer: " + request.getCustomerId());
+        }
+        PaymentMethods paymentMethod = referenceDataCache.getPaymentMethod(request.getPaymentMethodId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Could not find payment method with id: " + request.getPaymentMethodId()));
+        ShippingMethods shippingMethod = referenceDataCache.getShippingMethod(request.getShippingMethodId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Could not find shipping method with id: " + request.getShippingMethodId()));
+
+        // Sorted by product id so concurrent checkouts lock stock rows in the same order.
+        Map<Integer, Integer> quantities = new TreeMap<>();
+        Map<Integer, Long> salesByCategory = new HashMap<>();
+        long total = 0;
+        for (ShoppingCart item : cart) {
+            if (item.getQuantity() <= 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid quantity for cart item: " + item.getId());
+            }
+            Products product = item.getProduct();
+            long lineTotal = (long) product.getPrice() * item.getQuantity();
+            quantities.merge(product.getId(), item.getQuantity(), Integer::sum);
+            if (product.getCategory() != null) {
+                salesByCategory.merge(product.getCategory().getId(), lineTotal, Long::sum);
+            }
+            total += lineTotal;
+        }
+
+        // Held units already left the product rows when the holds were placed, so only the rest
+        // of each line is taken from stock. The order details still record every unit.
+        Map<Integer, Integer> fromStock = new TreeMap<>(quantities);
+        if (request.getHoldIds() != null && !request.getHoldIds().isEmpty()) {
+            inventoryService.consumeHolds(request.getHoldIds()).forEach((productId, held) -> {
+                int ordered = fromStock.getOrDefault(productId, 0);
+                if (held > ordered) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Holds for product " + productId + " cover more than the cart has");
+                }
+                if (held == ordered) {
+                    fromStock.remove(productId);
+                } else {
+                    fromStock.put(productId, ordered - held);
+                }
+            });
+        }
 
+        // Units claimed in chunks for holds but held by nobody have left the rows as well.
+        inventoryService.drawPooled(fromStock).forEach((productId, drawn) -> {
+            int rest = fromStock.get(productId) - drawn;
+            if (rest == 0) {
+                fromStock.remove(productId);
+            } else {
+                fromStock.put(productId, rest);
+            }
+        });
+
+        if (!fromStock.isEmpty()) {
+            if (checkoutJdbcRepository.decrementStock(fromStock) != fromStock.size()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Not enough stock for one or more products in the cart");
+            }
+            tableVersions.bump(TableVersions.Table.PRODUCTS);
+        }
+
+        Orders order = new Orders();
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus("Pending");
+        order.setTotalAmount(Math.toIntExact(total));
+        order.setCustomer(customersRepository.getReferenceById(request.getCustomerId()));
+        order.setPaymentMethod(paymentMethod);
+        order.setShippingMethod(shippingMethod);
+        Orders saved = ordersRepository.save(order);
+
+        checkoutJdbcRepository.insertOrderDetails(saved.getId(), quantities);
+        shoppingCartRepository.deleteAllInBatch(cart);
+        eventPublisher.publishEvent(new OrderRevenueChangedEvent(null, snapshot(saved, salesByCategory)));
+
+        queueInvoiceAfterCommit(saved);
+
+        logger.info("Checked out {} cart items into order {} for customer {}", cart.size(), saved.getId(), request.getCustomerId());
         return OrdersMapper.toDto(saved);
     }
 
     @Override
+    @Transactional
     public OrdersDto updateOrder(int id, OrdersDto orderDto) {
 
         Orders order = findId(id);
+        lockCustomers(customerId(order), orderDto.getCustomerId());
+        OrderRevenueSnapshot before = snapshot(order);
         order.setOrderDate(orderDto.getOrderDate());
         order.setStatus(orderDto.getStatus());
         order.setTotalAmount(orderDto.getTotalAmount());
 
         if (orderDto.getCustomerId() > 0) {
-            order.setCustomer(customersRepository.findById(orderDto.getCustomerId()).orElse(null));
+            order.setCustomer(customersRepository.getReferenceById(orderDto.getCustomerId()));
         }
         if (orderDto.getPaymentMethodId() > 0) {
-            order.setPaymentMethod(paymentMethodsRepository.findById(orderDto.getPaymentMethodId()).orElse(null));
+            order.setPaymentMethod(referenceDataCache.getPaymentMethod(orderDto.getPaymentMethodId()).orElse(null));
         }
         if (orderDto.getShippingMethodId() > 0) {
-            order.setShippingMethod(shippingMethodsRepository.findById(orderDto.getShippingMethodId()).orElse(null));
+            order.setShippingMethod(referenceDataCache.getShippingMethod(orderDto.getShippingMethodId()).orElse(null));
         }
         
         Orders updated = ordersRepository.save(order);
+        eventPublisher.publishEvent(new OrderRevenueChangedEvent(before, snapshot(updated)));
         return OrdersMapper.toDto(updated);
     }
 
     @Override
+    @Transactional
     public void deleteOrder(int id) {
-        if (!ordersRepository.existsById(id)) {
-            throw new NotFoundId("Order not found with id: " + id);
-        }
-        ordersRepository.deleteById(id);
+        Orders order = ordersRepository.findById(id)
+                .orElseThrow(() -> new NotFoundId("Order not found with id: " + id));
+        lockCustomers(customerId(order));
+        OrderRevenueSnapshot before = snapshot(order);
+        ordersRepository.delete(order);
+        eventPublisher.publishEvent(new OrderRevenueChangedEvent(before, null));
     }
 
     @Override
@@ -107,23 +303,24 @@ public class OrdersServiceImpl implements OrdersService {
 
     @Override
     public List<OrdersDto> getAllOrders() {
-        return ordersRepository.findAll().parallelStream()
+        return ordersRepository.findAllWithReferences().stream()
                 .map(OrdersMapper::toDto)
                 .toList();
     }
 
+    @Override
+    public long writeAllOrders(RowSink<OrdersDto> sink) throws IOException {
+        return sink.write(KeysetPages.stream(transactionTemplate, exportPageSize, ordersRepository::findExportPageAfter, OrdersDto::getId));
+    }
+
     @Override
     public OrderStatsDto getOrderStatsByCustomerId(int customerId) {
-        List<Object[]> result = ordersRepository.findOderStatsByCustomerId(customerId);
-        logger.debug("customerId: {}", customerId);
-        logger.debug("Query result: {}", result);
-        long totalOrders = 0L;
-        double totalAmountSpent = 0.0;
-        if (result != null && !result.isEmpty()) {
-            Object[] arr = result.get(0);
-            if (arr[0] != null) totalOrders = ((Number) arr[0]).longValue();
-            if (arr[1] != null) totalAmountSpent = ((Number) arr[1]).doubleValue();
-        }
-        return new OrderStatsDto(totalOrders, totalAmountSpent);
+        // Customers who have not ordered since the table was introduced have no row until the
+        // next reconcile, so their stats are counted from orders.
+        return customerOrderStatsRepository.findById(customerId)
+                .map(stats -> new OrderStatsDto(stats.getOrderCount(), (double) stats.getTotalAmount()))
+                .orElseGet(() -> ordersRepository.findTotalsByCustomerId(customerId)
+                        .map(total -> new OrderStatsDto(total.getOrderCount(), (double) total.getTotalAmount()))
+                        .orElseGet(() -> new OrderStatsDto(0L, 0.0)));
     }
 }
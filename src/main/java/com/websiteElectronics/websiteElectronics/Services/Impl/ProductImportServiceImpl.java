@@ -0,0 +1,251 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductImportError;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductImportReport;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
+import com.websiteElectronics.websiteElectronics.Entities.Categories;
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Entities.Suppliers;
+import com.websiteElectronics.websiteElectronics.Repositories.ProductsJdbcRepository;
+import com.websiteElectronics.websiteElectronics.Services.ProductImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Imports new products from CSV in the column order {@link
+ * com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ProductsExport} writes:
+ * id (left empty), name, description, price, quantity, image URL, category id, supplier id.
+ * A header row is optional.
+ * <p>
+ * The file is read as a stream and handled in chunks, so memory does not grow with its size.
+ * Each chunk is validated in parallel, with categories and suppliers resolved from
+ * {@link ReferenceDataCache}. Its valid rows are written in one transaction through
+ * {@link ProductsJdbcRepository} and then added to the {@link ProductSearchIndex}. Invalid rows
+ * are skipped and listed in the report. A quoted field that is never closed stops the import
+ * with 400, and the chunks before it stay imported.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private static final int COLUMNS = 8;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] TEXT_PROPERTIES = {"name", "description", "imageUrl"};
+    private static final Pattern WHOLE_NUMBER = Pattern.compile("[-+]?\\d+");
+
+    private final ProductsJdbcRepository productsJdbcRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final TableVersions tableVersions;
+
+    @Value("${product-import.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${product-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Autowired
+    public ProductImportServiceImpl(ProductsJdbcRepository productsJdbcRepository,
+                                    ReferenceDataCache referenceDataCache,
+                                    ProductSearchIndex productSearchIndex,
+                                    TransactionTemplate transactionTemplate,
+                                    Validator validator,
+                                    TableVersions tableVersions) {
+        this.productsJdbcRepository = productsJdbcRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.productSearchIndex = productSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.tableVersions = tableVersions;
+    }
+
+    @Override
+    public ProductImportReport importProducts(InputStream csv) {
+        // One lookup per supplier id for the whole file, even for ids that are not in the cache.
+        Map<Integer, Optional<Suppliers>> suppliers = new HashMap<>();
+        List<ProductImportError> errors = new ArrayList<>();
+        List<String[]> chunk = new ArrayList<>(chunkSize);
+        long[] chunkRows = new long[chunkSize];
+        long rows = 0;
+        long imported = 0;
+        long lastRow = 0;
+
+        try (CSVReader reader = new CSVReaderBuilder(
+                new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), BUFFER_SIZE)).build()) {
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                lastRow = reader.getRecordsRead();
+                if (isBlank(record) || (lastRow == 1 && isHeader(record))) {
+                    continue;
+                }
+                chunkRows[chunk.size()] = lastRow;
+                chunk.add(record);
+                rows++;
+                if (chunk.size() == chunkSize) {
+                    imported += importChunk(chunk, chunkRows, suppliers, errors);
+                }
+            }
+            imported += importChunk(chunk, chunkRows, suppliers, errors);
+        } catch (IOException | CsvValidationException e) {
+            logger.warn("Product import stopped after row {}, {} products imported: {}", lastRow, imported, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed CSV after row " + lastRow + ": " + e.getMessage());
+        }
+
+        long rejected = rows - imported;
+        logger.info("Product import finished: {} rows, {} imported, {} rejected", rows, imported, rejected);
+        return new ProductImportReport(rows, imported, rejected, errors);
+    }
+
+    private int importChunk(List<String[]> chunk, long[] chunkRows, Map<Integer, Optional<Suppliers>> suppliers,
+                            List<ProductImportError> errors) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        // A cache miss reads the database, so suppliers are resolved here, on the caller's thread and
+        // transaction, and the parallel step below only reads the map.
+        for (String[] record : chunk) {
+            if (record.length == COLUMNS) {
+                try {
+                    suppliers.computeIfAbsent(Integer.parseInt(record[7].trim()), referenceDataCache::getSupplier);
+                } catch (NumberFormatException ignored) {
+                    // Reported by the validation below.
+                }
+            }
+        }
+
+        Products[] products = new Products[chunk.size()];
+        String[] problems = new String[chunk.size()];
+        IntStream.range(0, chunk.size()).parallel().forEach(i -> {
+            try {
+                products[i] = toProduct(chunk.get(i), suppliers);
+            } catch (IllegalArgumentException e) {
+                problems[i] = e.getMessage();
+            }
+        });
+
+        List<Products> valid = new ArrayList<>(chunk.size());
+        for (int i = 0; i < products.length; i++) {
+            if (products[i] != null) {
+                valid.add(products[i]);
+            } else if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportError(chunkRows[i], problems[i]));
+            }
+        }
+        chunk.clear();
+        if (valid.isEmpty()) {
+            return 0;
+        }
+        Integer inserted = transactionTemplate.execute(status -> productsJdbcRepository.insertAll(valid));
+        productSearchIndex.indexAll(valid);
+        tableVersions.bump(TableVersions.Table.PRODUCTS);
+        return inserted == null ? 0 : inserted;
+    }
+
+    private Products toProduct(String[] cells, Map<Integer, Optional<Suppliers>> suppliers) {
+        if (cells.length != COLUMNS) {
+            throw new IllegalArgumentException("Expected " + COLUMNS + " columns but found " + cells.length);
+        }
+        List<String> problems = new ArrayList<>();
+        if (!cells[0].isBlank() && !"0".equals(cells[0].trim())) {
+            problems.add("Product Id must be empty, existing products are updated one by one");
+        }
+        Integer price = parseInt(cells[3], "Price", problems);
+        Integer quantity = parseInt(cells[4], "Quantity", problems);
+        Integer categoryId = parseInt(cells[6], "Category Id", problems);
+        Integer supplierId = parseInt(cells[7], "Supplier Id", problems);
+
+        Categories category = null;
+        if (categoryId != null) {
+            category = referenceDataCache.getCategory(categoryId).orElse(null);
+            if (category == null) {
+                problems.add("Unknown category id: " + categoryId);
+            }
+        }
+        Suppliers supplier = null;
+        if (supplierId != null) {
+            supplier = suppliers.get(supplierId).orElse(null);
+            if (supplier == null) {
+                problems.add("Unknown supplier id: " + supplierId);
+            }
+        }
+
+        // The text fields follow the same rules as a single create through ProductsDto, which also
+        // holds them to the columns' length.
+        ProductsDto dto = new ProductsDto(0, emptyToNull(cells[1]), emptyToNull(cells[2]),
+                price == null ? 0 : price, quantity == null ? 0 : quantity, emptyToNull(cells[5]), category, supplier);
+        for (String property : TEXT_PROPERTIES) {
+            for (ConstraintViolation<ProductsDto> violation : validator.validateProperty(dto, property)) {
+                problems.add(violation.getMessage());
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", problems));
+        }
+        return new Products(0, dto.getName(), dto.getDescription(), dto.getPrice(), dto.getQuantity(), dto.getImageUrl(),
+                category, supplier);
+    }
+
+    private static Integer parseInt(String cell, String column, List<String> problems) {
+        String value = cell.trim();
+        if (value.isEmpty()) {
+            problems.add(column + " is required");
+            return null;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0) {
+                problems.add(column + " must not be negative");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            // Digits that do not fit the INT columns get their own message.
+            if (!WHOLE_NUMBER.matcher(value).matches()) {
+                problems.add(column + " must be a whole number: " + value);
+            } else if (value.startsWith("-")) {
+                problems.add(column + " must not be negative");
+            } else {
+                problems.add(column + " must be at most " + Integer.MAX_VALUE);
+            }
+            return null;
+        }
+    }
+
+    private static String emptyToNull(String cell) {
+        return cell.isEmpty() ? null : cell;
+    }
+
+    private static boolean isBlank(String[] record) {
+        return record.length == 1 && record[0].isBlank();
+    }
+
+    private static boolean isHeader(String[] record) {
+        return record.length == COLUMNS && "Price".equalsIgnoreCase(record[3].trim());
+    }
+}
@@ -0,0 +1,268 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Repositories.ElectronicsRepositorys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product names and descriptions. Text is folded to plain ASCII
+ * (diacritics stripped, đ to d, lower-cased) so "dien thoai" finds "Điện thoại". Terms live in a
+ * sorted map, which turns prefix autocomplete into a range scan. The index is loaded once at
+ * startup and then kept current by {@link ElectronicsServiceImpl} on every write.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ElectronicsRepositorys electronicsRepositorys;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Set<Integer>> nameTerms = new TreeMap<>();
+    private final NavigableMap<String, Set<Integer>> descriptionTerms = new TreeMap<>();
+    private final Map<Integer, IndexedProduct> products = new HashMap<>();
+
+    @Autowired
+    public ProductSearchIndex(ElectronicsRepositorys electronicsRepositorys) {
+        this.electronicsRepositorys = electronicsRepositorys;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Products> all = electronicsRepositorys.findAllWithCategory();
+        lock.writeLock().lock();
+        try {
+            nameTerms.clear();
+            descriptionTerms.clear();
+            products.clear();
+            all.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Product search index built with {} products", all.size());
+    }
+
+    public void index(Products product) {
+        lock.writeLock().lock();
+        try {
+            remove(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<Products> batch) {
+        lock.writeLock().lock();
+        try {
+            for (Products product : batch) {
+                remove(product.getId());
+                add(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(int productId) {
+        lock.writeLock().lock();
+        try {
+            remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of products matching every word of {@code query}, best match first. The last word is
+     * matched as a prefix so results keep up while the user is still typing.
+     */
+    public List<Integer> search(String query, Integer minPrice, Integer maxPrice, IntPredicate categoryFilter, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> scores = null;
+            for (int i = 0; i < words.size(); i++) {
+                boolean prefix = i == words.size() - 1;
+                Map<Integer, Integer> wordScores = new HashMap<>();
+                collect(nameTerms, words.get(i), prefix, NAME_WEIGHT, wordScores);
+                collect(descriptionTerms, words.get(i), prefix, DESCRIPTION_WEIGHT, wordScores);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + wordScores.get(entry.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Map.Entry<Integer, Integer>> hits = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                IndexedProduct product = products.get(entry.getKey());
+                if ((minPrice == null || product.price >= minPrice)
+                        && (maxPrice == null || product.price <= maxPrice)
+                        && (categoryFilter == null || (product.categoryId != null && categoryFilter.test(product.categoryId)))) {
+                    hits.add(entry);
+                }
+            }
+            hits.sort(Map.Entry.<Integer, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+            return hits.stream().limit(limit).map(Map.Entry::getKey).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Product names whose own words match {@code prefix}, for an autocomplete dropdown. */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> words = tokenize(prefix);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Integer> matches = null;
+            for (int i = 0; i < words.size(); i++) {
+                Map<Integer, Integer> wordHits = new HashMap<>();
+                collect(nameTerms, words.get(i), i == words.size() - 1, NAME_WEIGHT, wordHits);
+                if (matches == null) {
+                    matches = new HashSet<>(wordHits.keySet());
+                } else {
+                    matches.retainAll(wordHits.keySet());
+                }
+            }
+            Set<String> names = new LinkedHashSet<>();
+            matches.stream()
+                    .map(products::get)
+                    .sorted(Comparator.comparingInt((IndexedProduct product) -> product.name.length())
+                            .thenComparing(product -> product.name))
+                    .forEach(product -> names.add(product.name));
+            return names.stream().limit(limit).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collect(NavigableMap<String, Set<Integer>> terms, String word, boolean prefix, int weight,
+                                Map<Integer, Integer> scores) {
+        Collection<Set<Integer>> postings = prefix
+                ? terms.subMap(word, true, word + Character.MAX_VALUE, false).values()
+                : terms.containsKey(word) ? List.of(terms.get(word)) : List.of();
+        Set<Integer> seen = new HashSet<>();
+        for (Set<Integer> ids : postings) {
+            for (Integer id : ids) {
+                if (seen.add(id)) {
+                    scores.merge(id, weight, Math::max);
+                }
+            }
+        }
+    }
+
+    private void add(Products product) {
+        Set<String> name = new TreeSet<>(tokenize(product.getName()));
+        Set<String> description = new TreeSet<>(tokenize(product.getDescription()));
+        Integer categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        products.put(product.getId(), new IndexedProduct(
+                product.getName() != null ? product.getName() : "", product.getPrice(), categoryId, name, description));
+        name.forEach(term -> nameTerms.computeIfAbsent(term, key -> new HashSet<>()).add(product.getId()));
+        description.forEach(term -> descriptionTerms.computeIfAbsent(term, key -> new HashSet<>()).add(product.getId()));
+    }
+
+    private void remove(int productId) {
+        IndexedProduct previous = products.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        previous.nameTerms.forEach(term -> removePosting(nameTerms, term, productId));
+        previous.descriptionTerms.forEach(term -> removePosting(descriptionTerms, term, productId));
+    }
+
+    private static void removePosting(Map<String, Set<Integer>> terms, String term, int productId) {
+        Set<Integer> ids = terms.get(term);
+        if (ids != null && ids.remove(productId) && ids.isEmpty()) {
+            terms.remove(term);
+        }
+    }
+
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(fold(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class IndexedProduct {
+        private final String name;
+        private final int price;
+        private final Integer categoryId;
+        private final Set<String> nameTerms;
+        private final Set<String> descriptionTerms;
+
+        private IndexedProduct(String name, int price, Integer categoryId, Set<String> nameTerms, Set<String> descriptionTerms) {
+            this.name = name;
+            this.price = price;
+            this.categoryId = categoryId;
+            this.nameTerms = nameTerms;
+            this.descriptionTerms = descriptionTerms;
+        }
+    }
+}
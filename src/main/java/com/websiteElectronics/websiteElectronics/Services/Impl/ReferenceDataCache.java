@@ -0,0 +1,210 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Entities.Categories;
+import com.websiteElectronics.websiteElectronics.Entities.PaymentMethods;
+import com.websiteElectronics.websiteElectronics.Entities.ShippingMethods;
+import com.websiteElectronics.websiteElectronics.Entities.Suppliers;
+import com.websiteElectronics.websiteElectronics.Repositories.CategoriesRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.PaymentMethodsRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.ShippingMethodsRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.SuppliersRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process copy of the small lookup tables. Each table is held as an immutable snapshot that
+ * is swapped as a whole, so readers never lock. Categories are written through by
+ * {@link CategoriesServiceImpl}; payment methods, shipping methods and suppliers only change in
+ * the database, so they are picked up by the periodic refresh or, for a brand-new id, by a miss that reloads.
+ * The category map and its {@link CategoryTree} are swapped together so they always agree.
+ * Writers take a {@link ReentrantLock} rather than a monitor because refreshes hold it across
+ * a database round trip, which would pin the carrier when running on virtual threads.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private final PaymentMethodsRepository paymentMethodsRepository;
+    private final ShippingMethodsRepository shippingMethodsRepository;
+    private final CategoriesRepository categoriesRepository;
+    private final SuppliersRepository suppliersRepository;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Map<Integer, PaymentMethods> paymentMethods = Map.of();
+    private volatile Map<Integer, ShippingMethods> shippingMethods = Map.of();
+    private volatile Map<Integer, Suppliers> suppliers = Map.of();
+    private volatile CategorySnapshot categories = new CategorySnapshot(Map.of(), CategoryTree.EMPTY);
+
+    @Autowired
+    public ReferenceDataCache(PaymentMethodsRepository paymentMethodsRepository,
+                              ShippingMethodsRepository shippingMethodsRepository,
+                              CategoriesRepository categoriesRepository,
+                              SuppliersRepository suppliersRepository) {
+        this.paymentMethodsRepository = paymentMethodsRepository;
+        this.shippingMethodsRepository = shippingMethodsRepository;
+        this.categoriesRepository = categoriesRepository;
+        this.suppliersRepository = suppliersRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refreshAll();
+        logger.info("Reference data cache warmed: {} payment methods, {} shipping methods, {} categories, {} suppliers",
+                paymentMethods.size(), shippingMethods.size(), categories.byId.size(), suppliers.size());
+    }
+
+    @Scheduled(fixedDelayString = "${reference-data.refresh-ms:600000}", initialDelayString = "${reference-data.refresh-ms:600000}")
+    public void refreshAll() {
+        refreshPaymentMethods();
+        refreshShippingMethods();
+        refreshCategories();
+        refreshSuppliers();
+    }
+
+    public void refreshPaymentMethods() {
+        writeLock.lock();
+        try {
+            Map<Integer, PaymentMethods> snapshot = new TreeMap<>();
+            paymentMethodsRepository.findAll().forEach(method -> snapshot.put(method.getId(), method));
+            paymentMethods = Collections.unmodifiableMap(snapshot);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void refreshShippingMethods() {
+        writeLock.lock();
+        try {
+            Map<Integer, ShippingMethods> snapshot = new TreeMap<>();
+            shippingMethodsRepository.findAll().forEach(method -> snapshot.put(method.getId(), method));
+            shippingMethods = Collections.unmodifiableMap(snapshot);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void refreshCategories() {
+        writeLock.lock();
+        try {
+            Map<Integer, Categories> snapshot = new TreeMap<>();
+            categoriesRepository.findAll().forEach(category -> snapshot.put(category.getId(), category));
+            categories = new CategorySnapshot(Collections.unmodifiableMap(snapshot), CategoryTree.build(snapshot.values()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void refreshSuppliers() {
+        writeLock.lock();
+        try {
+            Map<Integer, Suppliers> snapshot = new TreeMap<>();
+            suppliersRepository.findAll().forEach(supplier -> snapshot.put(supplier.getId(), supplier));
+            suppliers = Collections.unmodifiableMap(snapshot);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Optional<PaymentMethods> getPaymentMethod(int id) {
+        PaymentMethods method = paymentMethods.get(id);
+        if (method == null && paymentMethodsRepository.existsById(id)) {
+            refreshPaymentMethods();
+            method = paymentMethods.get(id);
+        }
+        return Optional.ofNullable(method);
+    }
+
+    public Optional<ShippingMethods> getShippingMethod(int id) {
+        ShippingMethods method = shippingMethods.get(id);
+        if (method == null && shippingMethodsRepository.existsById(id)) {
+            refreshShippingMethods();
+            method = shippingMethods.get(id);
+        }
+        return Optional.ofNullable(method);
+    }
+
+    public Optional<Suppliers> getSupplier(int id) {
+        Suppliers supplier = suppliers.get(id);
+        if (supplier == null && suppliersRepository.existsById(id)) {
+            refreshSuppliers();
+            supplier = suppliers.get(id);
+        }
+        return Optional.ofNullable(supplier);
+    }
+
+    public Optional<Categories> getCategory(int id) {
+        return Optional.ofNullable(categories.byId.get(id));
+    }
+
+    public List<Categories> getAllCategories() {
+        return new ArrayList<>(categories.byId.values());
+    }
+
+    public List<Categories> getCategories(List<Integer> ids) {
+        Map<Integer, Categories> byId = categories.byId;
+        List<Categories> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Categories category = byId.get(id);
+            if (category != null) {
+                result.add(category);
+            }
+        }
+        return result;
+    }
+
+    public CategoryTree getCategoryTree() {
+        return categories.tree;
+    }
+
+    public void putCategory(Categories category) {
+        writeLock.lock();
+        try {
+            CategorySnapshot current = categories;
+            Map<Integer, Categories> snapshot = new TreeMap<>(current.byId);
+            Categories previous = snapshot.put(category.getId(), category);
+            // A rename keeps every interval; only a new node or a move reshapes the tree.
+            boolean sameShape = previous != null && Objects.equals(previous.getParentId(), category.getParentId());
+            categories = new CategorySnapshot(Collections.unmodifiableMap(snapshot),
+                    sameShape ? current.tree : CategoryTree.build(snapshot.values()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void evictCategory(int id) {
+        writeLock.lock();
+        try {
+            Map<Integer, Categories> snapshot = new TreeMap<>(categories.byId);
+            snapshot.remove(id);
+            categories = new CategorySnapshot(Collections.unmodifiableMap(snapshot), CategoryTree.build(snapshot.values()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static final class CategorySnapshot {
+        private final Map<Integer, Categories> byId;
+        private final CategoryTree tree;
+
+        private CategorySnapshot(Map<Integer, Categories> byId, CategoryTree tree) {
+            this.byId = byId;
+            this.tree = tree;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Dtos.DailyRevenueSummary;
+import com.websiteElectronics.websiteElectronics.Dtos.OrderReportLine;
+import com.websiteElectronics.websiteElectronics.Repositories.OrdersRepository;
+import com.websiteElectronics.websiteElectronics.Services.RevenueReportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Service
+public class RevenueReportServiceImpl implements RevenueReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueReportServiceImpl.class);
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String SEPARATOR = "===========================================\n";
+
+    private final OrdersRepository ordersRepository;
+
+    @Value("${report.folder.path:D:/websiteElectronics/reports}")
+    private String reportFolderPath;
+
+    @Value("${report.backfill.max-days:366}")
+    private int maxBackfillDays;
+
+    @Autowired
+    public RevenueReportServiceImpl(OrdersRepository ordersRepository) {
+        this.ordersRepository = ordersRepository;
+    }
+
+    /**
+     * Writes one report per day in {@code [from, to]} using one aggregate query and one
+     * ordered pass over the order lines of the whole range.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public int generateDailyRevenueReports(LocalDate from, LocalDate to) throws IOException {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Report start date must not be after end date");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxBackfillDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Report range must not exceed " + maxBackfillDays + " days");
+        }
+
+        Path folderPath = Paths.get(reportFolderPath);
+        Files.createDirectories(folderPath);
+
+        Map<LocalDate, DailyRevenueSummary> summaries = new HashMap<>();
+        for (DailyRevenueSummary summary : ordersRepository.summarizeRevenueByDay(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            summaries.put(summary.getDay(), summary);
+        }
+
+        try (Stream<OrderReportLine> lines = ordersRepository.streamReportLines(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            Iterator<OrderReportLine> iterator = lines.iterator();
+            OrderReportLine next = iterator.hasNext() ? iterator.next() : null;
+
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                Path filePath = folderPath.resolve(String.format("daily_revenue_%s.txt", day.format(DAY_FORMAT)));
+                try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
+                    writeSummary(writer, day, summaries.get(day));
+                    while (next != null && next.getOrderDate().toLocalDate().equals(day)) {
+                        writeLine(writer, next);
+                        next = iterator.hasNext() ? iterator.next() : null;
+                    }
+                }
+                logger.info("Daily revenue report written: {}", filePath);
+            }
+        }
+        return (int) days;
+    }
+
+    private void writeSummary(BufferedWriter writer, LocalDate day, DailyRevenueSummary summary) throws IOException {
+        long totalOrders = summary != null ? summary.getOrderCount() : 0;
+        double totalRevenue = summary != null ? summary.getTotalRevenue() : 0;
+        long shipped = summary != null ? summary.getShippedCount() : 0;
+        long delivery = summary != null ? summary.getDeliveryCount() : 0;
+
+        writer.write(SEPARATOR);
+        writer.write("              BÁO CÁO HÀNG NGÀY           \n");
+        writer.write(SEPARATOR);
+        writer.write("Ngày: " + day.format(DAY_FORMAT) + "\n");
+        writer.write("Tong so don hang: " + totalOrders + "\n");
+        writer.write("Tong doanh thu: " + totalRevenue + "\n");
+        writer.write("Tong so don hang da giao: " + shipped + "\n");
+        writer.write("Tong so don hang dang van chuyen: " + delivery + "\n");
+        writer.write(SEPARATOR);
+
+        if (totalOrders > 0) {
+            writer.write("Tong doanh thu trung binh: " + (totalRevenue / totalOrders) + "\n");
+        }
+
+        writer.write(SEPARATOR);
+        writer.write("Danh sach don hang:\n");
+        writer.write(SEPARATOR);
+    }
+
+    private void writeLine(BufferedWriter writer, OrderReportLine line) throws IOException {
+        writer.write("Mã đơn hàng: " + line.getOrderId() + "\n");
+        writer.write("Khách hàng: " + Objects.toString(line.getCustomerFirstName(), "")
+                + Objects.toString(line.getCustomerLastName(), "") + "\n");
+        writer.write("Ngày đặt: " + line.getOrderDate() + "\n");
+        writer.write("Trạng thái: " + line.getStatus() + "\n");
+        writer.write("Phuong thức thanh toán: " + line.getPaymentMethodName() + "\n");
+        writer.write("Phuong thức giao hàng: " + line.getShippingMethodName() + "\n");
+        writer.write("Tong doanh thu: " + line.getTotalAmount() + "\n");
+        writer.write(SEPARATOR);
+    }
+}
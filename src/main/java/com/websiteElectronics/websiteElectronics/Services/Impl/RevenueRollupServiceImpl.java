@@ -0,0 +1,188 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import com.websiteElectronics.websiteElectronics.Dtos.CategorySales;
+import com.websiteElectronics.websiteElectronics.Events.OrderRevenueChangedEvent;
+import com.websiteElectronics.websiteElectronics.Events.OrderRevenueSnapshot;
+import com.websiteElectronics.websiteElectronics.Model.RevenueRollup;
+import com.websiteElectronics.websiteElectronics.Repositories.OrderDetailsRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.OrdersRepository;
+import com.websiteElectronics.websiteElectronics.Services.RevenueRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the dashboard rollups current by applying each order write as a delta: the old
+ * snapshot is subtracted and the new one added, and all touched buckets are upserted with
+ * {@code $inc} in one unordered bulk write. Reads are a single lookup by {@code _id}.
+ */
+@Service
+public class RevenueRollupServiceImpl implements RevenueRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueRollupServiceImpl.class);
+
+    private static final String ALL = "all";
+
+    private final MongoTemplate mongoTemplate;
+    private final OrdersRepository ordersRepository;
+    private final OrderDetailsRepository orderDetailsRepository;
+
+    @Autowired
+    public RevenueRollupServiceImpl(MongoTemplate mongoTemplate,
+                                    OrdersRepository ordersRepository,
+                                    OrderDetailsRepository orderDetailsRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.ordersRepository = ordersRepository;
+        this.orderDetailsRepository = orderDetailsRepository;
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderRevenueChanged(OrderRevenueChangedEvent event) {
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        collect(deltas, event.getBefore(), -1);
+        collect(deltas, event.getAfter(), 1);
+        deltas.values().removeIf(Delta::isEmpty);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RevenueRollup.class);
+            LocalDateTime now = LocalDateTime.now();
+            for (Map.Entry<String, Delta> entry : deltas.entrySet()) {
+                Delta delta = entry.getValue();
+                Update update = new Update()
+                        .inc("totalOrders", delta.orders)
+                        .inc("totalSales", delta.sales)
+                        .set("dimension", delta.dimension)
+                        .set("key", delta.key)
+                        .set("updatedAt", now);
+                bulk.upsert(Query.query(Criteria.where("_id").is(entry.getKey())), update);
+            }
+            bulk.execute();
+        } catch (Exception e) {
+            logger.error("Could not update revenue rollups for order change {}", deltas.keySet(), e);
+        }
+    }
+
+    @Override
+    public RevenueRollup getTotal() {
+        return find(RevenueRollup.TOTAL, ALL);
+    }
+
+    @Override
+    public RevenueRollup getDay(LocalDate day) {
+        return find(RevenueRollup.DAY, day);
+    }
+
+    @Override
+    public RevenueRollup getCategory(int categoryId) {
+        return find(RevenueRollup.CATEGORY, categoryId);
+    }
+
+    @Override
+    public RevenueRollup getPaymentMethod(int paymentMethodId) {
+        return find(RevenueRollup.PAYMENT_METHOD, paymentMethodId);
+    }
+
+    /**
+     * Recomputes every bucket from the relational tables. Only meant for seeding or repair;
+     * order writes that land while it runs may need another rebuild.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevenueRollup> rollups = new ArrayList<>();
+
+        long totalOrders = 0;
+        long totalSales = 0;
+        for (Object[] row : ordersRepository.sumRevenueByDay()) {
+            long orders = ((Number) row[1]).longValue();
+            long sales = ((Number) row[2]).longValue();
+            rollups.add(rollup(RevenueRollup.DAY, row[0], orders, sales, now));
+            totalOrders += orders;
+            totalSales += sales;
+        }
+        rollups.add(rollup(RevenueRollup.TOTAL, ALL, totalOrders, totalSales, now));
+
+        for (Object[] row : ordersRepository.sumRevenueByPaymentMethod()) {
+            rollups.add(rollup(RevenueRollup.PAYMENT_METHOD, row[0], ((Number) row[1]).longValue(), ((Number) row[2]).longValue(), now));
+        }
+        for (CategorySales row : orderDetailsRepository.sumSalesByCategory()) {
+            rollups.add(rollup(RevenueRollup.CATEGORY, row.getCategoryId(), row.getOrderCount(), row.getSales(), now));
+        }
+
+        mongoTemplate.remove(Query.query(Criteria.where("dimension").exists(true)), RevenueRollup.class);
+        mongoTemplate.insertAll(rollups);
+        logger.info("Rebuilt {} revenue rollups", rollups.size());
+        return rollups.size();
+    }
+
+    private RevenueRollup find(String dimension, Object key) {
+        String id = RevenueRollup.idOf(dimension, key);
+        RevenueRollup rollup = mongoTemplate.findById(id, RevenueRollup.class);
+        return rollup != null ? rollup : new RevenueRollup(id, dimension, String.valueOf(key), 0, 0, null);
+    }
+
+    private static RevenueRollup rollup(String dimension, Object key, long orders, long sales, LocalDateTime now) {
+        return new RevenueRollup(RevenueRollup.idOf(dimension, key), dimension, String.valueOf(key), orders, sales, now);
+    }
+
+    private static void collect(Map<String, Delta> deltas, OrderRevenueSnapshot snapshot, int sign) {
+        if (snapshot == null) {
+            return;
+        }
+        add(deltas, RevenueRollup.TOTAL, ALL, sign, sign * snapshot.getTotalAmount());
+        if (snapshot.getDay() != null) {
+            add(deltas, RevenueRollup.DAY, snapshot.getDay(), sign, sign * snapshot.getTotalAmount());
+        }
+        if (snapshot.getPaymentMethodId() > 0) {
+            add(deltas, RevenueRollup.PAYMENT_METHOD, snapshot.getPaymentMethodId(), sign, sign * snapshot.getTotalAmount());
+        }
+        if (snapshot.getSalesByCategory() != null) {
+            for (Map.Entry<Integer, Long> entry : snapshot.getSalesByCategory().entrySet()) {
+                add(deltas, RevenueRollup.CATEGORY, entry.getKey(), sign, sign * entry.getValue());
+            }
+        }
+    }
+
+    private static void add(Map<String, Delta> deltas, String dimension, Object key, long orders, long sales) {
+        Delta delta = deltas.computeIfAbsent(RevenueRollup.idOf(dimension, key),
+                id -> new Delta(dimension, String.valueOf(key)));
+        delta.orders += orders;
+        delta.sales += sales;
+    }
+
+    private static final class Delta {
+        private final String dimension;
+        private final String key;
+        private long orders;
+        private long sales;
+
+        private Delta(String dimension, String key) {
+            this.dimension = dimension;
+            this.key = key;
+        }
+
+        private boolean isEmpty() {
+            return orders == 0 && sales == 0;
+        }
+    }
+}
@@ -34,12 +34,15 @@ public class ReviewsServiceImpl implements ReviewsService {
 
     private final ElectronicsRepositorys electronicsRepositorys;
 
+    private final TableVersions tableVersions;
+
     @Autowired
-    public ReviewsServiceImpl(ReviewsRepository reviewsRepository, ReviewsMapper reviewsMapper, CustomersRepository customersRepository, ElectronicsRepositorys electronicsRepositorys) {
+    public ReviewsServiceImpl(ReviewsRepository reviewsRepository, ReviewsMapper reviewsMapper, CustomersRepository customersRepository, ElectronicsRepositorys electronicsRepositorys, TableVersions tableVersions) {
         this.reviewsRepository = reviewsRepository;
         this.reviewsMapper = reviewsMapper;
         this.customersRepository = customersRepository;
         this.electronicsRepositorys = electronicsRepositorys;
+        this.tableVersions = tableVersions;
     }
 
     private Reviews findId(int id){
@@ -67,6 +70,7 @@ public class ReviewsServiceImpl implements ReviewsService {
         entity.setProduct(product);
         entity.setCustomer(customer);
         Reviews saved = reviewsRepository.save(entity);
+        tableVersions.bump(TableVersions.Table.REVIEWS);
         return reviewsMapper.toDto(saved);
     }
 
@@ -90,6 +94,7 @@ public class ReviewsServiceImpl implements ReviewsService {
         review.setComment(dto.getComment());
 
         Reviews updated = reviewsRepository.save(review);
+        tableVersions.bump(TableVersions.Table.REVIEWS);
         return reviewsMapper.toDto(updated);
     }
 
@@ -99,5 +104,6 @@ public class ReviewsServiceImpl implements ReviewsService {
             throw new NotFoundId("Review not found with id: " + id);
         }
         reviewsRepository.deleteById(id);
+        tableVersions.bump(TableVersions.Table.REVIEWS);
     }
 }
@@ -0,0 +1,65 @@
+package com.websiteElectronics.websiteElectronics.Services.Impl;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A modification counter per table, used to build ETags for the catalog reads without
+ * serializing or hashing the response. Every write that can change what those reads return
+ * calls {@link #bump}. Inside a transaction the bump waits until the transaction has finished, and
+ * callers read the tag before loading the data. A tag is therefore never newer than the body
+ * it is sent with. At worst a client refetches a body it already had.
+ * <p>
+ * Like {@link ReferenceDataCache}, the counters live in this process. Tags start with the
+ * startup time, so a restarted server never repeats a tag it handed out before.
+ */
+@Component
+public class TableVersions {
+
+    public enum Table {
+        PRODUCTS, CATEGORIES, REVIEWS, CUSTOMERS
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Table, AtomicLong> versions = new EnumMap<>(Table.class);
+
+    public TableVersions() {
+        for (Table table : Table.values()) {
+            versions.put(table, new AtomicLong());
+        }
+    }
+
+    public long get(Table table) {
+        return versions.get(table).get();
+    }
+
+    public void bump(Table table) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Bumped after rollbacks too, which only costs clients one refetch.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versions.get(table).incrementAndGet();
+                }
+            });
+        } else {
+            versions.get(table).incrementAndGet();
+        }
+    }
+
+    /**
+     * A strong ETag covering every table the response is read from.
+     */
+    public String etag(Table... tables) {
+        StringBuilder tag = new StringBuilder(32).append('"').append(epoch);
+        for (Table table : tables) {
+            tag.append('-').append(get(table));
+        }
+        return tag.append('"').toString();
+    }
+}
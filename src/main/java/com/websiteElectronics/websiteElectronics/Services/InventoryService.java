@@ -0,0 +1,14 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Dtos.InventoryHoldDto;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface InventoryService {
+    InventoryHoldDto placeHold(int productId, int quantity);
+    Map<Integer, Integer> consumeHolds(Collection<String> holdIds);
+    Map<Integer, Integer> drawPooled(Map<Integer, Integer> quantities);
+    void releaseHold(String holdId);
+    int expireHolds();
+}
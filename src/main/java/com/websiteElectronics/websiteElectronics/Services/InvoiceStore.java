@@ -0,0 +1,50 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Storage for rendered invoice files, keyed by the SHA-256 of their content, so the key is what
+ * {@code Invoices.fileUrl} records. Text invoices are kept gzip-compressed; PDFs are already
+ * deflated and are stored as they are. Keys written before the store existed are plain absolute
+ * paths; implementations that can read them treat them as uncompressed files.
+ */
+public interface InvoiceStore {
+
+    String GZIP_SUFFIX = ".gz";
+
+    /**
+     * Stores {@code content} and returns its key, which ends in {@code .extension} (then {@code .gz}
+     * when {@code compress} is set). Storing identical content again returns the same key.
+     */
+    String put(byte[] content, String extension, boolean compress) throws IOException;
+
+    default String put(byte[] content) throws IOException {
+        return put(content, "txt", true);
+    }
+
+    /** Decompressed content of {@code key}. */
+    InputStream open(String key) throws IOException;
+
+    /** Copies the stored bytes, still compressed when {@link #isCompressed} holds, to {@code target}. */
+    long transferTo(String key, WritableByteChannel target) throws IOException;
+
+    long storedSize(String key) throws IOException;
+
+    boolean exists(String key);
+
+    /** Returns whether something was removed; a missing key is not an error. */
+    boolean delete(String key) throws IOException;
+
+    default boolean isCompressed(String key) {
+        return key.endsWith(GZIP_SUFFIX);
+    }
+
+    /** File extension of the stored document, ignoring {@code .gz}: {@code "pdf"} or {@code "txt"}. */
+    default String extensionOf(String key) {
+        String name = isCompressed(key) ? key.substring(0, key.length() - GZIP_SUFFIX.length()) : key;
+        int dot = name.lastIndexOf('.');
+        return dot < 0 || dot < name.lastIndexOf('/') ? "" : name.substring(dot + 1);
+    }
+}
@@ -1,22 +1,24 @@
 package com.websiteElectronics.websiteElectronics.Services;
 
+import com.websiteElectronics.websiteElectronics.Dtos.InvoicePipelineStatsDto;
 import com.websiteElectronics.websiteElectronics.Dtos.InvoicesDto;
 import com.websiteElectronics.websiteElectronics.Entities.Orders;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 
 public interface InvoicesService {
 
     InvoicesDto generateInvoice(Long orderId, Long customerId, String fileUrl, int expireAt);
 
-    CompletableFuture<InvoicesDto> generateAndSendInvoiceAsync(Orders order, int expireMinutes);
+    void queueInvoice(Orders order, int expireMinutes);
+
+    InvoicePipelineStatsDto getPipelineStats();
 
     InvoicesDto generateAndSendInvoice(Orders order, int expireMinutes) throws Exception;
 
-    void deleteExpiredInvoices();
+    int deleteExpiredInvoices();
 
     Optional<InvoicesDto> getInvoiceByOrderId(Long orderId);
 
@@ -0,0 +1,16 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Dtos.MailCampaignProgressDto;
+
+import java.time.Duration;
+
+public interface MailCampaign {
+    String getName();
+    void submit(String to, String subject, String htmlContent) throws InterruptedException;
+    void close();
+    boolean awaitCompletion(Duration timeout) throws InterruptedException;
+    long getQueuedCount();
+    long getSentCount();
+    long getFailedCount();
+    MailCampaignProgressDto toProgressDto();
+}
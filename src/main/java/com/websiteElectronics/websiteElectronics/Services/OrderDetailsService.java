@@ -3,10 +3,12 @@ package com.websiteElectronics.websiteElectronics.Services;
 import com.websiteElectronics.websiteElectronics.Dtos.OrderDetailsDto;
 import com.websiteElectronics.websiteElectronics.Entities.Products;
 
+import java.io.IOException;
 import java.util.List;
 
 public interface OrderDetailsService {
     List<OrderDetailsDto> lstOrderDetails();
+    long writeAllOrderDetails(RowSink<OrderDetailsDto> sink) throws IOException;
     OrderDetailsDto getOrderDetailsById(int id);
     List<Integer> getProductIdsByCustomerId(Integer orderId);
     List<Products> getElectronicsByCustomerId(Integer customerId);
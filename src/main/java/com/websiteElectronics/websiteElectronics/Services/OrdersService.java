@@ -1,14 +1,19 @@
 package com.websiteElectronics.websiteElectronics.Services;
 
+import com.websiteElectronics.websiteElectronics.Dtos.CheckoutRequest;
 import com.websiteElectronics.websiteElectronics.Dtos.OrderStatsDto;
 import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+
+import java.io.IOException;
 import java.util.List;
 
 public interface OrdersService {
     OrdersDto createOrder(OrdersDto orderDto);
+    OrdersDto checkout(CheckoutRequest request);
     OrdersDto updateOrder(int id, OrdersDto orderDto);
     void deleteOrder(int id);
     OrdersDto getOrderById(int id);
     List<OrdersDto> getAllOrders();
+    long writeAllOrders(RowSink<OrdersDto> sink) throws IOException;
     OrderStatsDto getOrderStatsByCustomerId(int customerId);
 }
@@ -0,0 +1,9 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Dtos.ProductImportReport;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+    ProductImportReport importProducts(InputStream csv);
+}
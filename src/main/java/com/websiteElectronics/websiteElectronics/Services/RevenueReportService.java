@@ -0,0 +1,8 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+public interface RevenueReportService {
+    int generateDailyRevenueReports(LocalDate from, LocalDate to) throws IOException;
+}
@@ -0,0 +1,15 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Events.OrderRevenueChangedEvent;
+import com.websiteElectronics.websiteElectronics.Model.RevenueRollup;
+
+import java.time.LocalDate;
+
+public interface RevenueRollupService {
+    void onOrderRevenueChanged(OrderRevenueChangedEvent event);
+    RevenueRollup getTotal();
+    RevenueRollup getDay(LocalDate day);
+    RevenueRollup getCategory(int categoryId);
+    RevenueRollup getPaymentMethod(int paymentMethodId);
+    int rebuild();
+}
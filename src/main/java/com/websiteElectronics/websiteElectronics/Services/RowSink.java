@@ -0,0 +1,16 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+/**
+ * Consumes the rows of a streamed listing; the caller decides how the rows are encoded. The
+ * service reads the rows in keyset pages, each in its own short transaction, as the sink reaches
+ * them, so a slow client does not hold a connection while a page is written out. Returns the
+ * number of rows written.
+ */
+@FunctionalInterface
+public interface RowSink<T> {
+
+    long write(Stream<T> rows) throws IOException;
+}
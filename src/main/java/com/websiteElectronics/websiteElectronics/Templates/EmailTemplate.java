@@ -0,0 +1,107 @@
+package com.websiteElectronics.websiteElectronics.Templates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An HTML body split once into its static segments and {@code {{name}}} placeholders.
+ * Rendering appends the segments and the HTML-escaped values into a per-thread buffer,
+ * so the static markup is never re-parsed or re-concatenated per recipient.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(16 * 1024));
+
+    private final String name;
+    private final String[] parameterNames;
+    private final String[] segments;
+    private final int[] slots;
+
+    private EmailTemplate(String name, String[] parameterNames, String[] segments, int[] slots) {
+        this.name = name;
+        this.parameterNames = parameterNames;
+        this.segments = segments;
+        this.slots = slots;
+    }
+
+    /**
+     * @param parameterNames the placeholders the template may use, in the order
+     *                       {@link #render} expects their values
+     */
+    public static EmailTemplate compile(String name, String source, String... parameterNames) {
+        List<String> segments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<String> declared = Arrays.asList(parameterNames);
+
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in template " + name + " at offset " + open);
+            }
+            String placeholder = source.substring(open + OPEN.length(), close).trim();
+            int slot = declared.indexOf(placeholder);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Unknown placeholder {{" + placeholder + "}} in template " + name);
+            }
+            segments.add(source.substring(position, open));
+            slots.add(slot);
+            position = close + CLOSE.length();
+        }
+        segments.add(source.substring(position));
+
+        return new EmailTemplate(
+                name,
+                parameterNames.clone(),
+                segments.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray()
+        );
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String render(Object... values) {
+        if (values.length != parameterNames.length) {
+            throw new IllegalArgumentException("Template " + name + " expects " + parameterNames.length
+                    + " values " + Arrays.toString(parameterNames) + " but got " + values.length);
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        for (int i = 0; i < slots.length; i++) {
+            buffer.append(segments[i]);
+            appendEscaped(buffer, values[slots[i]]);
+        }
+        buffer.append(segments[slots.length]);
+        return buffer.toString();
+    }
+
+    private static void appendEscaped(StringBuilder buffer, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number) {
+            buffer.append(value);
+            return;
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> buffer.append("&amp;");
+                case '<' -> buffer.append("&lt;");
+                case '>' -> buffer.append("&gt;");
+                case '"' -> buffer.append("&quot;");
+                case '\'' -> buffer.append("&#39;");
+                default -> buffer.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.websiteElectronics.websiteElectronics.Templates;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Email bodies loaded from {@code templates/email} and compiled once at startup.
+ */
+@Component
+public class EmailTemplates {
+
+    private static final String TEMPLATE_DIR = "templates/email/";
+
+    private final EmailTemplate promotion = load("promotion", "firstName", "lastName");
+    private final EmailTemplate inactiveReminder = load("inactive-reminder", "firstName");
+    private final EmailTemplate loyalThankYou = load("loyal-thank-you", "firstName", "orderCount");
+    private final EmailTemplate invoice = load("invoice", "firstName", "lastName", "totalAmount", "orderId", "status");
+
+    public String renderPromotion(String firstName, String lastName) {
+        return promotion.render(firstName, lastName);
+    }
+
+    public String renderInactiveReminder(String firstName) {
+        return inactiveReminder.render(firstName);
+    }
+
+    public String renderLoyalThankYou(String firstName, long orderCount) {
+        return loyalThankYou.render(firstName, orderCount);
+    }
+
+    public String renderInvoice(String firstName, String lastName, long totalAmount, int orderId, String status) {
+        return invoice.render(firstName, lastName, String.format("%,d VNĐ", totalAmount), orderId, status);
+    }
+
+    private static EmailTemplate load(String name, String... parameterNames) {
+        ClassPathResource resource = new ClassPathResource(TEMPLATE_DIR + name + ".html");
+        try (InputStream in = resource.getInputStream()) {
+            return EmailTemplate.compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8), parameterNames);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load email template " + resource.getPath(), e);
+        }
+    }
+}
@@ -5,13 +5,38 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.Map;
+
 @SpringBootApplication
 @EnableScheduling
 @EnableAsync
 public class WebsiteElectronicsApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(WebsiteElectronicsApplication.class, args);
+		SpringApplication application = new SpringApplication(WebsiteElectronicsApplication.class);
+		// Lowest-precedence defaults; application.properties or the environment can override them.
+		application.setDefaultProperties(Map.of(
+				// Connector/J ignores the streaming queries' fetch size and reads the whole result into
+				// memory unless cursor fetch is on. That also switches it to server-side prepared
+				// statements, so their handles are cached per connection.
+				"spring.datasource.hikari.data-source-properties.useCursorFetch", "true",
+				"spring.datasource.hikari.data-source-properties.cachePrepStmts", "true",
+				// Lets Connector/J send a JDBC batch, such as checkout's order lines, as one multi-row INSERT.
+				"spring.datasource.hikari.data-source-properties.rewriteBatchedStatements", "true",
+				// The listings read one short transaction per page; an EntityManager held open for
+				// the whole request would keep its connection between them.
+				"spring.jpa.open-in-view", "false",
+				// Gzip the API's own formats. The list endpoints stream without a Content-Length and are
+				// compressed chunk by chunk; Tomcat leaves strong-ETag responses (the catalog) alone.
+				"server.compression.enabled", "true",
+				"server.compression.mime-types", "application/json,application/cbor,text/csv",
+				"server.compression.min-response-size", "2KB",
+				"management.endpoints.web.exposure.include", "health,prometheus",
+				// Actuator gets its own port, to be reachable only from inside the network.
+				"management.server.port", "8081",
+				"management.metrics.tags.application", "website-electronics"
+		));
+		application.run(args);
 	}
 
 }
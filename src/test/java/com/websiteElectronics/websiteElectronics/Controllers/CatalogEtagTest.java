@@ -0,0 +1,94 @@
+package com.websiteElectronics.websiteElectronics.Controllers;
+
+import com.websiteElectronics.websiteElectronics.Dtos.CategoriesDto;
+import com.websiteElectronics.websiteElectronics.Dtos.ReviewsDto;
+import com.websiteElectronics.websiteElectronics.Services.CategoriesService;
+import com.websiteElectronics.websiteElectronics.Services.ReviewsService;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CatalogEtagTest {
+
+    private CategoriesService categoriesService;
+    private ReviewsService reviewsService;
+    private TableVersions tableVersions;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        categoriesService = Mockito.mock(CategoriesService.class);
+        reviewsService = Mockito.mock(ReviewsService.class);
+        tableVersions = new TableVersions();
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new CategoriesController(categoriesService, tableVersions),
+                new ReviewsController(reviewsService, tableVersions)).build();
+        Mockito.when(categoriesService.getAllCategories()).thenReturn(List.of(new CategoriesDto(1, "Phones", "desc", null)));
+        Mockito.when(reviewsService.getAllReviews()).thenReturn(List.of(new ReviewsDto(1, 5, "ok", "2024-05-01", 2, 3, "Phone", "An")));
+    }
+
+    private String etag(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void testMatchingTagIsAnsweredWithoutLoading() throws Exception {
+        String etag = etag("/api/categories");
+
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().string(""));
+
+        Mockito.verify(categoriesService, Mockito.times(1)).getAllCategories();
+    }
+
+    @Test
+    void testWritesToAnyTableTheReadDependsOnChangeTheTag() throws Exception {
+        String categories = etag("/api/categories");
+        String reviews = etag("/api/reviews");
+
+        tableVersions.bump(TableVersions.Table.PRODUCTS);
+
+        assertEquals(categories, etag("/api/categories"));
+        assertNotEquals(reviews, etag("/api/reviews"));
+        mockMvc.perform(get("/api/reviews").header(HttpHeaders.IF_NONE_MATCH, reviews))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productName").value("Phone"));
+    }
+
+    @Test
+    void testBumpInsideATransactionWaitsForItToFinish() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tableVersions.bump(TableVersions.Table.CATEGORIES);
+            assertEquals(0, tableVersions.get(TableVersions.Table.CATEGORIES));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, tableVersions.get(TableVersions.Table.CATEGORIES));
+    }
+}
@@ -2,11 +2,13 @@ package com.websiteElectronics.websiteElectronics.Controllers;
 
 import com.websiteElectronics.websiteElectronics.Dtos.CategoriesDto;
 import com.websiteElectronics.websiteElectronics.Services.CategoriesService;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -17,6 +19,7 @@ import java.util.Arrays;
 import java.util.List;
 
 @AutoConfigureMockMvc(addFilters = false)
+@Import(TableVersions.class)
 @WebMvcTest(CategoriesController.class)
 public class CategoriesControllerTest {
 
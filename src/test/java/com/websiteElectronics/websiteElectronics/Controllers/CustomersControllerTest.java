@@ -1,5 +1,6 @@
 package com.websiteElectronics.websiteElectronics.Controllers;
 
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ListStreamWriter;
 import com.websiteElectronics.websiteElectronics.Dtos.CustomersDto;
 import com.websiteElectronics.websiteElectronics.Services.CustomersService;
 import org.junit.jupiter.api.Test;
@@ -7,16 +8,19 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.websiteElectronics.websiteElectronics.Services.RowSink;
 import java.util.Arrays;
 import java.util.List;
 
 @AutoConfigureMockMvc(addFilters = false)
+@Import(ListStreamWriter.class)
 @WebMvcTest(CustomersController.class)
 public class CustomersControllerTest {
 
@@ -79,7 +83,8 @@ public class CustomersControllerTest {
                 new CustomersDto(1, "John", "Doe", "john.doe@gmail.com", "password123", "0123456789", "123 Main St", "Hanoi", "HN", "10000", "Vietnam"),
                 new CustomersDto(2, "Jane", "Smith", "jane.smith@gmail.com", "password456", "0987654321", "456 Main St", "HCM", "SG", "20000", "Vietnam")
         );
-        Mockito.when(customersService.getAllCustomers()).thenReturn(responses);
+        Mockito.when(customersService.writeAllCustomers(Mockito.any())).thenAnswer(invocation ->
+                invocation.<RowSink<CustomersDto>>getArgument(0).write(responses.stream()));
         mockMvc.perform(get("/api/customers"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
@@ -1,12 +1,16 @@
 package com.websiteElectronics.websiteElectronics.Controllers;
 
 import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductsPageDto;
 import com.websiteElectronics.websiteElectronics.Services.ElectronicsService;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
+import com.websiteElectronics.websiteElectronics.Services.ProductImportService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -17,6 +21,7 @@ import java.util.Arrays;
 import java.util.List;
 
 @AutoConfigureMockMvc(addFilters = false)
+@Import(TableVersions.class)
 @WebMvcTest(ElectronicsController.class)
 public class ElectronicsControllerTest {
 
@@ -26,6 +31,9 @@ public class ElectronicsControllerTest {
     @MockitoBean
     private ElectronicsService electronicsService;
 
+    @MockitoBean
+    private ProductImportService productImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -74,15 +82,18 @@ public class ElectronicsControllerTest {
     }
 
     @Test
-    void testGetAllElectronics_Success() throws Exception {
+    void testGetElectronicsPage_Success() throws Exception {
         List<ProductsDto> responses = Arrays.asList(
                 new ProductsDto(1, "iPhone 15", "Apple smartphone", 25000000, 10, "img.jpg", null, null),
                 new ProductsDto(2, "iPad Pro", "Apple tablet", 30000000, 5, "ipad.jpg", null, null)
         );
-        Mockito.when(electronicsService.getAllElectronics()).thenReturn(responses);
-        mockMvc.perform(get("/api/electronics"))
+        ProductsPageDto page = new ProductsPageDto(responses, 2, true, "cDE6Mg");
+        Mockito.when(electronicsService.getElectronicsPage(null, 30000000, null, null, 2, null)).thenReturn(page);
+        mockMvc.perform(get("/api/electronics").param("maxPrice", "30000000").param("size", "2"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[1].name").value("iPad Pro"));
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[1].name").value("iPad Pro"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("cDE6Mg"));
     }
 }
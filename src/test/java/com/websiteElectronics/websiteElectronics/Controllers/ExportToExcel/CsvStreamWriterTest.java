@@ -0,0 +1,62 @@
+package com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel;
+
+import com.opencsv.bean.StatefulBeanToCsv;
+import com.opencsv.bean.StatefulBeanToCsvBuilder;
+import com.websiteElectronics.websiteElectronics.Dtos.CustomersDto;
+import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvStreamWriterTest {
+
+    private static <T> String openCsv(List<T> rows) throws Exception {
+        StringWriter writer = new StringWriter();
+        StatefulBeanToCsv<T> beanToCsv = new StatefulBeanToCsvBuilder<T>(writer).build();
+        beanToCsv.write(rows);
+        return writer.toString();
+    }
+
+    @Test
+    void testOrdersExportMatchesOpenCsvOutput() throws Exception {
+        List<OrdersDto> orders = List.of(
+                new OrdersDto(1, LocalDateTime.of(2024, 1, 2, 3, 4, 5, 600_000_000), "Sh\"ip,ped", 1000, 2, 3, 4),
+                new OrdersDto(2, null, null, 0, 0, 0, 0)
+        );
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = OrdersExport.exportToCsv(orders.stream(), out);
+
+        assertEquals(2, rows);
+        assertEquals(openCsv(orders), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCustomersExportMatchesOpenCsvOutput() throws Exception {
+        List<CustomersDto> customers = List.of(
+                new CustomersDto(1, "Nguyễn", "Văn \"A\"", "a@example.com", "secret", "0901", "12 Lê Lợi\nQ1", "HCM", null, "700000", "VN")
+        );
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CustomersExport.exportToCsv(customers.stream(), out);
+
+        assertEquals(openCsv(customers), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testLargeExportIsWrittenAcrossFlushBlocks() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = OrdersExport.exportToCsv(
+                IntStream.range(0, 2500).mapToObj(i -> new OrdersDto(i, null, "New", i, 1, 1, 1)), out);
+
+        assertEquals(2500, rows);
+        assertEquals(2500, out.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+}
@@ -0,0 +1,73 @@
+package com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ListStreamWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ListStreamWriter listStreamWriter = new ListStreamWriter(objectMapper, Jackson2ObjectMapperBuilder.json());
+
+    private final List<OrdersDto> orders = List.of(
+            new OrdersDto(1, LocalDateTime.of(2024, 1, 2, 3, 4, 5), "Giao \"nhanh\"", 1000, 2, 3, 4),
+            new OrdersDto(2, null, null, 0, 0, 0, 0)
+    );
+
+    @Test
+    void testNegotiation() {
+        assertEquals(MediaType.APPLICATION_JSON, ListStreamWriter.select(null));
+        assertEquals(MediaType.APPLICATION_JSON, ListStreamWriter.select("*/*"));
+        assertEquals(MediaType.APPLICATION_JSON, ListStreamWriter.select("text/html,application/xhtml+xml,*/*;q=0.8"));
+        assertEquals(MediaType.APPLICATION_JSON, ListStreamWriter.select("not a media type"));
+        assertEquals(ListStreamWriter.APPLICATION_CBOR, ListStreamWriter.select("application/cbor"));
+        assertEquals(ListStreamWriter.APPLICATION_CBOR, ListStreamWriter.select("application/json;q=0.5, application/cbor"));
+        assertEquals(MediaType.APPLICATION_JSON, ListStreamWriter.select("application/cbor;q=0, */*"));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> ListStreamWriter.select("text/csv"));
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, e.getStatusCode());
+    }
+
+    @Test
+    void testJsonMatchesSerializingTheList() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = listStreamWriter.negotiate("application/json").write(orders.stream(), out);
+
+        assertEquals(2, rows);
+        assertEquals(objectMapper.writeValueAsString(orders), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCborRoundTrip() throws Exception {
+        ListStreamWriter.Format cbor = listStreamWriter.negotiate("application/cbor");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cbor.write(orders.stream(), out);
+
+        ObjectMapper reader = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        assertEquals(ListStreamWriter.APPLICATION_CBOR, cbor.getMediaType());
+        assertEquals(orders, reader.readValue(out.toByteArray(), new TypeReference<List<OrdersDto>>() {}));
+    }
+
+    @Test
+    void testEmptyStreamIsAnEmptyArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, listStreamWriter.negotiate(null).write(Stream.empty(), out));
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+}
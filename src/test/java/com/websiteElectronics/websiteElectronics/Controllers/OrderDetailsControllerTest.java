@@ -1,5 +1,6 @@
 package com.websiteElectronics.websiteElectronics.Controllers;
 
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ListStreamWriter;
 import com.websiteElectronics.websiteElectronics.Dtos.OrderDetailsDto;
 import com.websiteElectronics.websiteElectronics.Services.OrderDetailsService;
 import org.junit.jupiter.api.Test;
@@ -7,16 +8,19 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.websiteElectronics.websiteElectronics.Services.RowSink;
 import java.util.Arrays;
 import java.util.List;
 
 @AutoConfigureMockMvc(addFilters = false)
+@Import(ListStreamWriter.class)
 @WebMvcTest(OrderDetailsController.class)
 public class OrderDetailsControllerTest {
 
@@ -34,7 +38,8 @@ public class OrderDetailsControllerTest {
         OrderDetailsDto dto1 = new OrderDetailsDto(1, null, null, 2);
         OrderDetailsDto dto2 = new OrderDetailsDto(2, null, null, 1);
         List<OrderDetailsDto> responses = Arrays.asList(dto1, dto2);
-        Mockito.when(orderDetailsService.lstOrderDetails()).thenReturn(responses);
+        Mockito.when(orderDetailsService.writeAllOrderDetails(Mockito.any())).thenAnswer(invocation ->
+                invocation.<RowSink<OrderDetailsDto>>getArgument(0).write(responses.stream()));
         mockMvc.perform(get("/api/orderDetails"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
@@ -1,25 +1,30 @@
 package com.websiteElectronics.websiteElectronics.Controllers;
 
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ListStreamWriter;
 import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
 import com.websiteElectronics.websiteElectronics.Dtos.OrderStatsDto;
+import com.websiteElectronics.websiteElectronics.Services.CustomerOrderStatsService;
 import com.websiteElectronics.websiteElectronics.Services.OrdersService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.websiteElectronics.websiteElectronics.Services.RowSink;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 @AutoConfigureMockMvc(addFilters = false)
+@Import(ListStreamWriter.class)
 @WebMvcTest(OrdersController.class)
 class OrdersControllerTest {
 
@@ -29,6 +34,9 @@ class OrdersControllerTest {
     @MockitoBean
     private OrdersService ordersService;
 
+    @MockitoBean
+    private CustomerOrderStatsService customerOrderStatsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -80,7 +88,8 @@ class OrdersControllerTest {
                 new OrdersDto(1, LocalDateTime.now(), "Delivery", 1000000, 1, 1, 1),
                 new OrdersDto(2, LocalDateTime.now(), "SHIPPED", 2000000, 1, 1, 1)
         );
-        Mockito.when(ordersService.getAllOrders()).thenReturn(responses);
+        Mockito.when(ordersService.writeAllOrders(Mockito.any())).thenAnswer(invocation ->
+                invocation.<RowSink<OrdersDto>>getArgument(0).write(responses.stream()));
         mockMvc.perform(get("/api/orders"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
@@ -0,0 +1,103 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.websiteElectronics.websiteElectronics.Dtos.CustomerOrderActivity;
+import com.websiteElectronics.websiteElectronics.Entities.Customers;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Entities.PaymentMethods;
+import com.websiteElectronics.websiteElectronics.Entities.ShippingMethods;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+class CustomerOrderActivityTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 15, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    private QueryCounter queryCounter;
+    private Customers lapsed;
+    private Customers recent;
+    private Customers neverOrdered;
+    private Customers loyal;
+
+    @BeforeEach
+    void setUp() {
+        PaymentMethods paymentMethod = entityManager.persist(new PaymentMethods(0, "Payment", "desc"));
+        ShippingMethods shippingMethod = entityManager.persist(new ShippingMethods(0, "Shipping", 10.0, "2 days"));
+        lapsed = customer("lapsed@example.com");
+        recent = customer("recent@example.com");
+        neverOrdered = customer("never@example.com");
+        loyal = customer("loyal@example.com");
+
+        entityManager.persist(new Orders(0, NOW.minusDays(30), "Delivery", 100, lapsed, paymentMethod, shippingMethod));
+        entityManager.persist(new Orders(0, NOW.minusDays(3), "Delivery", 100, lapsed, paymentMethod, shippingMethod));
+        entityManager.persist(new Orders(0, NOW.minusHours(1), "Pending", 100, recent, paymentMethod, shippingMethod));
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new Orders(0, NOW.minusDays(i), "Delivery", 100, loyal, paymentMethod, shippingMethod));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        queryCounter = new QueryCounter(entityManagerFactory);
+        queryCounter.reset();
+    }
+
+    private Customers customer(String email) {
+        Customers customer = new Customers();
+        customer.setFirstName("Customer");
+        customer.setLastName("Test");
+        customer.setEmail(email);
+        return entityManager.persist(customer);
+    }
+
+    private static Map<Integer, CustomerOrderActivity> byCustomer(Stream<CustomerOrderActivity> rows) {
+        try (rows) {
+            return rows.collect(Collectors.toMap(CustomerOrderActivity::getCustomerId, Function.identity()));
+        }
+    }
+
+    @Test
+    void testInactiveCandidatesIncludeCustomersWithoutOrders() {
+        Map<Integer, CustomerOrderActivity> inactive = byCustomer(ordersRepository.streamCustomersWithoutOrdersSince(NOW.minusDays(1)));
+
+        queryCounter.assertStatementCount(1, "streamCustomersWithoutOrdersSince");
+        assertEquals(Set.of(lapsed.getId(), neverOrdered.getId()), inactive.keySet());
+        assertEquals(2, inactive.get(lapsed.getId()).getOrderCount());
+        assertEquals(NOW.minusDays(3), inactive.get(lapsed.getId()).getLastOrderDate());
+        assertEquals("lapsed@example.com", inactive.get(lapsed.getId()).getEmail());
+        assertEquals(0, inactive.get(neverOrdered.getId()).getOrderCount());
+        assertNull(inactive.get(neverOrdered.getId()).getLastOrderDate());
+    }
+
+    @Test
+    void testLoyalCandidatesHaveAtLeastTheMinimumOrders() {
+        Map<Integer, CustomerOrderActivity> loyalCustomers = byCustomer(ordersRepository.streamCustomersWithAtLeastOrders(5));
+
+        queryCounter.assertStatementCount(1, "streamCustomersWithAtLeastOrders");
+        assertEquals(Set.of(loyal.getId()), loyalCustomers.keySet());
+        assertEquals(5, loyalCustomers.get(loyal.getId()).getOrderCount());
+        assertEquals(NOW, loyalCustomers.get(loyal.getId()).getLastOrderDate());
+        assertEquals(Set.of(lapsed.getId(), loyal.getId()), byCustomer(ordersRepository.streamCustomersWithAtLeastOrders(2)).keySet());
+    }
+}
@@ -0,0 +1,166 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.websiteElectronics.websiteElectronics.Dtos.CheckoutRequest;
+import com.websiteElectronics.websiteElectronics.Dtos.OrderStatsDto;
+import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+import com.websiteElectronics.websiteElectronics.Entities.Categories;
+import com.websiteElectronics.websiteElectronics.Entities.CustomerOrderStats;
+import com.websiteElectronics.websiteElectronics.Entities.Customers;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Entities.PaymentMethods;
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Entities.ShippingMethods;
+import com.websiteElectronics.websiteElectronics.Entities.ShoppingCart;
+import com.websiteElectronics.websiteElectronics.Entities.Suppliers;
+import com.websiteElectronics.websiteElectronics.Mappers.OrdersMapper;
+import com.websiteElectronics.websiteElectronics.Services.InvoicesService;
+import com.websiteElectronics.websiteElectronics.Services.Impl.CustomerOrderStatsServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InventoryServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.OrdersServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.ReferenceDataCache;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataJpaTest
+@Import({OrdersServiceImpl.class, InventoryServiceImpl.class, CustomerOrderStatsServiceImpl.class, OrdersMapper.class, ReferenceDataCache.class, CheckoutJdbcRepository.class, TableVersions.class})
+class CustomerOrderStatsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrdersServiceImpl ordersService;
+
+    @Autowired
+    private CustomerOrderStatsServiceImpl customerOrderStatsService;
+
+    @Autowired
+    private CustomerOrderStatsRepository customerOrderStatsRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @MockitoBean
+    private InvoicesService invoicesService;
+
+    private Customers alice;
+    private Customers bob;
+    private PaymentMethods paymentMethod;
+    private ShippingMethods shippingMethod;
+    private Products phone;
+
+    @BeforeEach
+    void setUp() {
+        alice = customer("alice@example.com");
+        bob = customer("bob@example.com");
+        paymentMethod = entityManager.persist(new PaymentMethods(0, "Payment", "desc"));
+        shippingMethod = entityManager.persist(new ShippingMethods(0, "Shipping", 10.0, "2 days"));
+        Categories category = entityManager.persist(new Categories(null, "Phones", "desc", null));
+        Suppliers supplier = entityManager.persist(new Suppliers(0, "Supplier", "contact", "s@example.com", "090"));
+        phone = entityManager.persist(new Products(0, "Phone", "desc", 1000, 5, "img", category, supplier));
+        entityManager.flush();
+        referenceDataCache.warmUp();
+    }
+
+    private Customers customer(String email) {
+        Customers customer = new Customers();
+        customer.setFirstName("Customer");
+        customer.setLastName("Test");
+        customer.setEmail(email);
+        return entityManager.persist(customer);
+    }
+
+    private OrderStatsDto stats(Customers customer) {
+        entityManager.flush();
+        entityManager.clear();
+        return ordersService.getOrderStatsByCustomerId(customer.getId());
+    }
+
+    private OrdersDto order(Customers customer, int totalAmount) {
+        return new OrdersDto(0, LocalDateTime.now(), "Pending", totalAmount, customer.getId(), paymentMethod.getId(), shippingMethod.getId());
+    }
+
+    @Test
+    void testOrderWritesKeepStatsCurrent() {
+        entityManager.persist(new ShoppingCart(null, alice, phone, 2, new Date()));
+        entityManager.flush();
+        ordersService.checkout(new CheckoutRequest(alice.getId(), paymentMethod.getId(), shippingMethod.getId()));
+        OrdersDto created = ordersService.createOrder(order(alice, 500));
+
+        assertEquals(new OrderStatsDto(2L, 2500.0), stats(alice));
+
+        created.setTotalAmount(700);
+        created.setCustomerId(bob.getId());
+        ordersService.updateOrder(created.getId(), created);
+
+        assertEquals(new OrderStatsDto(1L, 2000.0), stats(alice));
+        assertEquals(new OrderStatsDto(1L, 700.0), stats(bob));
+
+        ordersService.deleteOrder(created.getId());
+
+        assertEquals(new OrderStatsDto(0L, 0.0), stats(bob));
+        assertEquals(new OrderStatsDto(0L, 0.0), ordersService.getOrderStatsByCustomerId(9999));
+    }
+
+    @Test
+    void testCustomerWithOlderOrdersIsSeededFromOrders() {
+        // Placed before the stats table existed, so there is no row for alice.
+        Orders older = entityManager.persist(new Orders(0, LocalDateTime.now(), "Pending", 300, alice, paymentMethod, shippingMethod));
+        entityManager.persist(new Orders(0, LocalDateTime.now(), "Pending", 200, alice, paymentMethod, shippingMethod));
+        entityManager.flush();
+
+        assertEquals(new OrderStatsDto(2L, 500.0), stats(alice));
+        assertFalse(customerOrderStatsRepository.existsById(alice.getId()));
+
+        ordersService.createOrder(order(alice, 100));
+        assertEquals(new OrderStatsDto(3L, 600.0), stats(alice));
+
+        ordersService.deleteOrder(older.getId());
+        assertEquals(new OrderStatsDto(2L, 300.0), stats(alice));
+    }
+
+    @Test
+    void testDeleteWithoutRowDoesNotWriteNegativeStats() {
+        Orders only = entityManager.persist(new Orders(0, LocalDateTime.now(), "Pending", 300, bob, paymentMethod, shippingMethod));
+        entityManager.flush();
+
+        ordersService.deleteOrder(only.getId());
+
+        assertEquals(new OrderStatsDto(0L, 0.0), stats(bob));
+        assertFalse(customerOrderStatsRepository.existsById(bob.getId()));
+    }
+
+    @Test
+    void testReconcileRepairsDrift() {
+        ordersService.createOrder(order(alice, 300));
+        ordersService.createOrder(order(bob, 400));
+        // Written behind the service's back, so no stats are updated.
+        entityManager.persist(new Orders(0, LocalDateTime.now(), "Pending", 50, alice, paymentMethod, shippingMethod));
+        Customers carol = customer("carol@example.com");
+        entityManager.persist(new Orders(0, LocalDateTime.now(), "Pending", 80, carol, paymentMethod, shippingMethod));
+        Customers dave = customer("dave@example.com");
+        entityManager.persist(new CustomerOrderStats(dave.getId(), 3, 900, LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(3, customerOrderStatsService.reconcile());
+
+        assertEquals(new OrderStatsDto(2L, 350.0), stats(alice));
+        assertEquals(new OrderStatsDto(1L, 400.0), stats(bob));
+        assertEquals(new OrderStatsDto(1L, 80.0), stats(carol));
+        assertFalse(customerOrderStatsRepository.existsById(dave.getId()));
+        assertEquals(0, customerOrderStatsService.reconcile());
+    }
+}
@@ -0,0 +1,126 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.websiteElectronics.websiteElectronics.Dtos.InventoryHoldDto;
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InventoryServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs without the test transaction so every reservation commits, as it would in production.
+@DataJpaTest(properties = "inventory.ledger.chunk-size=4")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({InventoryServiceImpl.class, TableVersions.class})
+class InventoryReservationConcurrencyTest {
+
+    private static final int STOCK = 50;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private ElectronicsRepositorys electronicsRepositorys;
+
+    @Autowired
+    private InventoryServiceImpl inventoryService;
+
+    private int productId;
+
+    @BeforeEach
+    void setUp() {
+        productId = electronicsRepositorys.save(new Products(0, "Flash sale phone", "desc", 1000, STOCK, "img", null, null)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inventoryService.shutdown();
+        electronicsRepositorys.deleteAll();
+    }
+
+    private int stockInDatabase() {
+        return electronicsRepositorys.findById(productId).orElseThrow().getQuantity();
+    }
+
+    @Test
+    void testConcurrentHoldsNeverOversell() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger conflicts = new AtomicInteger();
+        ConcurrentLinkedQueue<InventoryHoldDto> placed = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        placed.add(inventoryService.placeHold(productId, 1));
+                    } catch (ResponseStatusException e) {
+                        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(STOCK, placed.size());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD - STOCK, conflicts.get());
+        assertEquals(0, stockInDatabase());
+
+        assertEquals(Map.of(productId, STOCK), inventoryService.consumeHolds(placed.stream().map(InventoryHoldDto::getHoldId).toList()));
+        inventoryService.expireHolds();
+        assertEquals(0, stockInDatabase());
+    }
+
+    @Test
+    void testExpiredAndReleasedHoldsReturnToStock() throws Exception {
+        InventoryServiceImpl shortHolds = new InventoryServiceImpl(electronicsRepositorys, new TableVersions(), 200, 4, 8);
+        InventoryHoldDto released = shortHolds.placeHold(productId, 5);
+        shortHolds.placeHold(productId, 7);
+        assertTrue(stockInDatabase() <= STOCK - 12);
+
+        shortHolds.releaseHold(released.getHoldId());
+        Thread.sleep(300);
+        assertEquals(1, shortHolds.expireHolds());
+
+        assertEquals(STOCK, stockInDatabase());
+        assertThrows(RuntimeException.class, () -> shortHolds.consumeHolds(List.of(released.getHoldId())));
+    }
+
+    @Test
+    void testStaleProductUpdateFailsOptimisticCheck() {
+        Products stale = electronicsRepositorys.findById(productId).orElseThrow();
+        inventoryService.placeHold(productId, 1);
+
+        stale.setQuantity(STOCK + 100);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> electronicsRepositorys.save(stale));
+    }
+}
@@ -0,0 +1,192 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.websiteElectronics.websiteElectronics.Dtos.CheckoutRequest;
+import com.websiteElectronics.websiteElectronics.Dtos.InventoryHoldDto;
+import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+import com.websiteElectronics.websiteElectronics.Entities.Categories;
+import com.websiteElectronics.websiteElectronics.Entities.Customers;
+import com.websiteElectronics.websiteElectronics.Entities.PaymentMethods;
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Entities.ShippingMethods;
+import com.websiteElectronics.websiteElectronics.Entities.ShoppingCart;
+import com.websiteElectronics.websiteElectronics.Entities.Suppliers;
+import com.websiteElectronics.websiteElectronics.Exceptions.NotFoundId;
+import com.websiteElectronics.websiteElectronics.Mappers.OrdersMapper;
+import com.websiteElectronics.websiteElectronics.Services.InvoicesService;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InventoryServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.OrdersServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.ReferenceDataCache;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import({OrdersServiceImpl.class, InventoryServiceImpl.class, OrdersMapper.class, ReferenceDataCache.class, CheckoutJdbcRepository.class, TableVersions.class})
+class OrderCheckoutTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrdersServiceImpl ordersService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private InventoryServiceImpl inventoryService;
+
+    @MockitoBean
+    private InvoicesService invoicesService;
+
+    private Customers customer;
+    private Products phone;
+    private Products cable;
+    private int paymentMethodId;
+    private int shippingMethodId;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customers();
+        customer.setFirstName("Customer");
+        customer.setLastName("Test");
+        customer.setEmail("customer@example.com");
+        entityManager.persist(customer);
+        paymentMethodId = entityManager.persist(new PaymentMethods(0, "Payment", "desc")).getId();
+        shippingMethodId = entityManager.persist(new ShippingMethods(0, "Shipping", 10.0, "2 days")).getId();
+
+        Categories category = entityManager.persist(new Categories(null, "Phones", "desc", null));
+        Suppliers supplier = entityManager.persist(new Suppliers(0, "Supplier", "contact", "s@example.com", "090"));
+        phone = entityManager.persist(new Products(0, "Phone", "desc", 1000, 5, "img", category, supplier));
+        cable = entityManager.persist(new Products(0, "Cable", "desc", 50, 3, "img", category, supplier));
+        entityManager.flush();
+        referenceDataCache.warmUp();
+    }
+
+    private void addToCart(Products product, int quantity) {
+        entityManager.persist(new ShoppingCart(null, customer, product, quantity, new Date()));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private int stockOf(Products product) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE product_id = ?", Integer.class, product.getId());
+    }
+
+    private int cartSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM shoppingcart WHERE customer_id = ?", Integer.class, customer.getId());
+    }
+
+    @Test
+    void testCheckoutTurnsCartIntoOrder() {
+        addToCart(phone, 2);
+        addToCart(cable, 1);
+        addToCart(cable, 2);
+
+        OrdersDto order = ordersService.checkout(new CheckoutRequest(customer.getId(), paymentMethodId, shippingMethodId));
+
+        assertEquals(2 * 1000 + 3 * 50, order.getTotalAmount());
+        assertEquals("Pending", order.getStatus());
+        assertEquals(3, stockOf(phone));
+        assertEquals(0, stockOf(cable));
+        assertEquals(0, cartSize());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM order_details WHERE order_id = ? AND product_id = ?", Integer.class, order.getId(), cable.getId()));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_details WHERE order_id = ?", Integer.class, order.getId()));
+    }
+
+    @Test
+    void testCheckoutRejectsCartWhenStockIsShort() {
+        addToCart(cable, 4);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> ordersService.checkout(new CheckoutRequest(customer.getId(), paymentMethodId, shippingMethodId)));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertEquals(3, stockOf(cable));
+        assertEquals(1, cartSize());
+    }
+
+    @Test
+    void testCheckoutConsumesHoldsInsteadOfTakingStockAgain() {
+        InventoryHoldDto hold = inventoryService.placeHold(phone.getId(), 2);
+        assertEquals(3, stockOf(phone));
+        addToCart(phone, 3);
+        addToCart(cable, 1);
+
+        OrdersDto order = ordersService.checkout(
+                new CheckoutRequest(customer.getId(), paymentMethodId, shippingMethodId, List.of(hold.getHoldId())));
+
+        // Two phones came from the hold, only the third from stock.
+        assertEquals(2, stockOf(phone));
+        assertEquals(2, stockOf(cable));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT quantity FROM order_details WHERE order_id = ? AND product_id = ?", Integer.class, order.getId(), phone.getId()));
+        assertThrows(NotFoundId.class, () -> inventoryService.consumeHolds(List.of(hold.getHoldId())));
+
+        inventoryService.expireHolds();
+        assertEquals(2, stockOf(phone));
+    }
+
+    @Test
+    void testCheckoutDrawsIdlePoolUnitsBeforeTheRow() {
+        Products charger = entityManager.persist(new Products(0, "Charger", "desc", 20, 12, "img", phone.getCategory(), phone.getSupplier()));
+        // The hold claims a chunk of ten chargers; once it is released they sit in the pool.
+        inventoryService.releaseHold(inventoryService.placeHold(charger.getId(), 1).getHoldId());
+        assertEquals(2, stockOf(charger));
+        addToCart(charger, 12);
+
+        OrdersDto order = ordersService.checkout(new CheckoutRequest(customer.getId(), paymentMethodId, shippingMethodId));
+
+        assertEquals(12, jdbcTemplate.queryForObject(
+                "SELECT quantity FROM order_details WHERE order_id = ? AND product_id = ?", Integer.class, order.getId(), charger.getId()));
+        assertEquals(0, stockOf(charger));
+        inventoryService.expireHolds();
+        assertEquals(0, stockOf(charger));
+    }
+
+    @Test
+    void testCheckoutRejectsHoldLargerThanTheCart() {
+        InventoryHoldDto hold = inventoryService.placeHold(cable.getId(), 2);
+        addToCart(cable, 1);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> ordersService.checkout(
+                new CheckoutRequest(customer.getId(), paymentMethodId, shippingMethodId, List.of(hold.getHoldId()))));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    void testCheckoutRejectsEmptyCart() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> ordersService.checkout(new CheckoutRequest(customer.getId(), paymentMethodId, shippingMethodId)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    void testCheckoutRejectsUnknownCustomer() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> ordersService.checkout(new CheckoutRequest(customer.getId() + 1000, paymentMethodId, shippingMethodId)));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+}
@@ -0,0 +1,88 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+import com.websiteElectronics.websiteElectronics.Entities.Customers;
+import com.websiteElectronics.websiteElectronics.Entities.PaymentMethods;
+import com.websiteElectronics.websiteElectronics.Entities.ShippingMethods;
+import com.websiteElectronics.websiteElectronics.Mappers.OrdersMapper;
+import com.websiteElectronics.websiteElectronics.Services.InvoicesService;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InventoryServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.OrdersServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.ReferenceDataCache;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({OrdersServiceImpl.class, InventoryServiceImpl.class, OrdersMapper.class, ReferenceDataCache.class, CheckoutJdbcRepository.class, TableVersions.class})
+class OrderCreationQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrdersServiceImpl ordersService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @MockitoBean
+    private InvoicesService invoicesService;
+
+    private QueryCounter queryCounter;
+    private int customerId;
+    private int paymentMethodId;
+    private int shippingMethodId;
+
+    @BeforeEach
+    void setUp() {
+        Customers customer = new Customers();
+        customer.setFirstName("Customer");
+        customer.setLastName("Test");
+        customer.setEmail("customer@example.com");
+        customerId = entityManager.persist(customer).getId();
+        paymentMethodId = entityManager.persist(new PaymentMethods(0, "Payment", "desc")).getId();
+        shippingMethodId = entityManager.persist(new ShippingMethods(0, "Shipping", 10.0, "2 days")).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        referenceDataCache.warmUp();
+        queryCounter = new QueryCounter(entityManagerFactory);
+        queryCounter.reset();
+    }
+
+    @Test
+    void testCreateOrderOnlyLocksTheCustomerAndInsertsTheOrder() {
+        OrdersDto created = ordersService.createOrder(
+                new OrdersDto(0, LocalDateTime.now(), "Pending", 1000, customerId, paymentMethodId, shippingMethodId));
+
+        assertTrue(created.getId() > 0);
+        assertEquals(customerId, created.getCustomerId());
+        assertEquals(paymentMethodId, created.getPaymentMethodId());
+        assertEquals(shippingMethodId, created.getShippingMethodId());
+        // The customer lock and the insert; reference data comes from the cache.
+        queryCounter.assertStatementCount(2, "createOrder");
+    }
+
+    @Test
+    void testNewPaymentMethodIsPickedUpOnMiss() {
+        int newId = entityManager.persistAndFlush(new PaymentMethods(0, "Wallet", "desc")).getId();
+
+        assertEquals("Wallet", referenceDataCache.getPaymentMethod(newId).orElseThrow().getName());
+        assertTrue(referenceDataCache.getPaymentMethod(-1).isEmpty());
+    }
+}
@@ -0,0 +1,181 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ListStreamWriter;
+import com.websiteElectronics.websiteElectronics.Dtos.OrderDetailsDto;
+import com.websiteElectronics.websiteElectronics.Dtos.OrdersDto;
+import com.websiteElectronics.websiteElectronics.Entities.Categories;
+import com.websiteElectronics.websiteElectronics.Entities.Customers;
+import com.websiteElectronics.websiteElectronics.Entities.OrderDetails;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Entities.PaymentMethods;
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Entities.ShippingMethods;
+import com.websiteElectronics.websiteElectronics.Entities.Suppliers;
+import com.websiteElectronics.websiteElectronics.Services.InvoicesService;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InvoiceFileServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InvoicePdfRenderer;
+import com.websiteElectronics.websiteElectronics.Services.Impl.LocalDiskInvoiceStore;
+import com.websiteElectronics.websiteElectronics.Services.Impl.OrderDetailsServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InventoryServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.OrdersServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.ReferenceDataCache;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"invoice.folder.path=target/test-invoices", "export.page-size=3"})
+@Import({OrdersServiceImpl.class, InventoryServiceImpl.class, OrderDetailsServiceImpl.class, InvoiceFileServiceImpl.class, LocalDiskInvoiceStore.class, InvoicePdfRenderer.class, ReferenceDataCache.class, CheckoutJdbcRepository.class, TableVersions.class})
+class OrderListingQueryCountTest {
+
+    private static final int ORDER_COUNT = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private OrderDetailsRepository orderDetailsRepository;
+
+    @Autowired
+    private OrdersServiceImpl ordersService;
+
+    @Autowired
+    private OrderDetailsServiceImpl orderDetailsService;
+
+    @Autowired
+    private InvoiceFileServiceImpl invoiceFileService;
+
+    @Autowired
+    private LocalDiskInvoiceStore invoiceStore;
+
+    @MockitoBean
+    private InvoicesService invoicesService;
+
+    private QueryCounter queryCounter;
+    private int firstOrderId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Customers customer = new Customers();
+            customer.setFirstName("Customer" + i);
+            customer.setLastName("Test");
+            customer.setEmail("customer" + i + "@example.com");
+            entityManager.persist(customer);
+
+            PaymentMethods paymentMethod = entityManager.persist(new PaymentMethods(0, "Payment" + i, "desc"));
+            ShippingMethods shippingMethod = entityManager.persist(new ShippingMethods(0, "Shipping" + i, 10.0, "2 days"));
+            Orders order = entityManager.persist(new Orders(0, LocalDateTime.now(), "Pending", 1000, customer, paymentMethod, shippingMethod));
+            if (i == 0) {
+                firstOrderId = order.getId();
+            }
+
+            for (int j = 0; j < 2; j++) {
+                Categories category = entityManager.persist(new Categories(null, "Category" + i + j, "desc", null));
+                Suppliers supplier = entityManager.persist(new Suppliers(0, "Supplier" + i + j, "contact", "s@example.com", "090"));
+                Products product = entityManager.persist(new Products(0, "Product" + i + j, "desc", 500, 10, "img", category, supplier));
+                entityManager.persist(new OrderDetails(null, order, product, 1));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        queryCounter = new QueryCounter(entityManagerFactory);
+        queryCounter.reset();
+    }
+
+    @Test
+    void testGetAllOrdersUsesSingleQuery() {
+        List<OrdersDto> orders = ordersService.getAllOrders();
+
+        assertEquals(ORDER_COUNT, orders.size());
+        queryCounter.assertStatementCount(1, "getAllOrders");
+    }
+
+    @Test
+    void testListOrderDetailsUsesSingleQuery() {
+        List<OrderDetailsDto> details = orderDetailsService.lstOrderDetails();
+
+        assertEquals(ORDER_COUNT * 2, details.size());
+        details.forEach(detail -> {
+            detail.getOrderId().getCustomer().getEmail();
+            detail.getProductId().getCategory().getName();
+            detail.getProductId().getSupplier().getName();
+        });
+        queryCounter.assertStatementCount(1, "lstOrderDetails");
+    }
+
+    @Test
+    void testWriteAllOrdersStreamsTheListInKeysetPages() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ListStreamWriter.Format json = new ListStreamWriter(objectMapper, Jackson2ObjectMapperBuilder.json()).negotiate(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(ORDER_COUNT, ordersService.writeAllOrders(rows -> json.write(rows, out)));
+        // Pages of 3 and 2; the short page ends the listing without another query.
+        queryCounter.assertStatementCount(2, "writeAllOrders");
+        assertEquals(objectMapper.writeValueAsString(ordersService.getAllOrders()), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteAllOrderDetailsStreamsTheListInKeysetPages() throws Exception {
+        ListStreamWriter.Format cbor = new ListStreamWriter(Jackson2ObjectMapperBuilder.json().build(), Jackson2ObjectMapperBuilder.json())
+                .negotiate("application/cbor");
+
+        assertEquals(ORDER_COUNT * 2, orderDetailsService.writeAllOrderDetails(rows -> cbor.write(rows, OutputStream.nullOutputStream())));
+        queryCounter.assertStatementCount(4, "writeAllOrderDetails");
+    }
+
+    @Test
+    void testCreateInvoiceFileLoadsLinesInSingleQuery() throws Exception {
+        Orders order = ordersRepository.findAllWithReferences().stream()
+                .filter(o -> o.getId() == firstOrderId)
+                .findFirst()
+                .orElseThrow();
+        entityManager.clear();
+        queryCounter.reset();
+
+        String key = invoiceFileService.createInvoiceFile(order);
+
+        queryCounter.assertStatementCount(1, "createInvoiceFile");
+        assertEquals("pdf", invoiceStore.extensionOf(key));
+        try (InputStream in = invoiceStore.open(key)) {
+            PdfReader reader = new PdfReader(in);
+            assertTrue(new PdfTextExtractor(reader).getTextFromPage(1).contains("Mã đơn hàng: " + firstOrderId));
+            reader.close();
+        }
+    }
+
+    @Test
+    void testHarnessDetectsNPlusOne() {
+        orderDetailsRepository.findAll();
+
+        assertTrue(queryCounter.getStatementCount() > 1,
+                "plain findAll() is expected to fetch references row by row");
+    }
+}
@@ -0,0 +1,177 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.websiteElectronics.websiteElectronics.Controllers.ExportToExcel.ProductsExport;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductImportError;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductImportReport;
+import com.websiteElectronics.websiteElectronics.Dtos.ProductsDto;
+import com.websiteElectronics.websiteElectronics.Entities.Categories;
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Entities.Suppliers;
+import com.websiteElectronics.websiteElectronics.Services.Impl.ProductImportServiceImpl;
+import com.websiteElectronics.websiteElectronics.Services.Impl.ProductSearchIndex;
+import com.websiteElectronics.websiteElectronics.Services.Impl.ReferenceDataCache;
+import com.websiteElectronics.websiteElectronics.Services.Impl.TableVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ProductImportServiceImpl.class, ProductsJdbcRepository.class, ReferenceDataCache.class, ProductSearchIndex.class, TableVersions.class})
+@TestPropertySource(properties = {"product-import.chunk-size=3", "product-import.max-reported-errors=4"})
+class ProductImportTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductImportServiceImpl productImportService;
+
+    @Autowired
+    private ElectronicsRepositorys electronicsRepositorys;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    private Categories phones;
+    private Suppliers supplier;
+
+    @BeforeEach
+    void setUp() {
+        phones = entityManager.persist(new Categories(null, "Phones", "desc", null));
+        supplier = entityManager.persist(new Suppliers(0, "Supplier", "contact", "s@example.com", "090"));
+        entityManager.flush();
+        referenceDataCache.warmUp();
+    }
+
+    private ProductImportReport importCsv(String csv) {
+        ProductImportReport report = productImportService.importProducts(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        entityManager.clear();
+        return report;
+    }
+
+    private String row(String name, String price, String categoryId, String supplierId) {
+        return "\"\",\"" + name + "\",\"desc\",\"" + price + "\",\"5\",\"img.jpg\",\"" + categoryId + "\",\"" + supplierId + "\"\n";
+    }
+
+    private static Products named(List<Products> products, String name) {
+        return products.stream().filter(product -> product.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void testImportsValidRowsAndReportsTheRest() {
+        Suppliers lateSupplier = entityManager.persist(new Suppliers(0, "Late", "contact", "l@example.com", "091"));
+        entityManager.flush();
+        String c = String.valueOf(phones.getId());
+        String s = String.valueOf(supplier.getId());
+        String csv = "Product Id,Name,Description,Price,Quantity,Image URL,Category Id,Supplier Id\n"
+                + row("Điện thoại Galaxy", "1000", c, s)
+                + row("Tai nghe Bluetooth", "abc", c, s)
+                + row("Sạc nhanh 65W", "300", c, String.valueOf(lateSupplier.getId()))
+                + "\n"
+                + row("Tiny", "300", "999", s)
+                + row("Loa di động", "-1", c, "")
+                + "\"\",\"Thiếu cột\"\n"
+                + row("Ốp lưng silicon", "50", c, s);
+
+        ProductImportReport report = importCsv(csv);
+
+        assertEquals(7, report.getRows());
+        assertEquals(3, report.getImported());
+        assertEquals(4, report.getRejected());
+        assertEquals(List.of(
+                new ProductImportError(3, "Price must be a whole number: abc"),
+                new ProductImportError(6, "Unknown category id: 999; Name must be at least 5 characters"),
+                new ProductImportError(7, "Price must not be negative; Supplier Id is required"),
+                new ProductImportError(8, "Expected 8 columns but found 2")), report.getErrors());
+
+        List<Products> saved = electronicsRepositorys.findAll();
+        assertEquals(3, saved.size());
+        assertEquals(lateSupplier.getId(), named(saved, "Sạc nhanh 65W").getSupplier().getId());
+        assertEquals(List.of(named(saved, "Ốp lưng silicon").getId()), productSearchIndex.search("op lung", null, null, null, 10));
+    }
+
+    @Test
+    void testRejectsValuesThatDoNotFitTheColumnsWithoutFailingTheChunk() {
+        String c = String.valueOf(phones.getId());
+        String s = String.valueOf(supplier.getId());
+        String csv = row("Điện thoại Galaxy", "2147483647", c, s)
+                + row("Máy tính bảng", "2147483648", c, s)
+                + row("Đ".repeat(256), "1000", c, s);
+
+        ProductImportReport report = importCsv(csv);
+
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(
+                new ProductImportError(2, "Price must be at most 2147483647"),
+                new ProductImportError(3, "Name must be at most 255 characters")), report.getErrors());
+        assertEquals(Integer.MAX_VALUE, electronicsRepositorys.findAll().get(0).getPrice());
+    }
+
+    @Test
+    void testReadsWhatTheExportWrites() throws Exception {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        ProductsExport.exportToCsv(Stream.of(
+                new ProductsDto(0, "Máy tính bảng", "Màn hình \"11\" inch, 2 camera", 9000, 3, "tab.jpg", phones, supplier),
+                new ProductsDto(12, "Đồng hồ thông minh", "desc", 4000, 1, "watch.jpg", phones, supplier)), csv);
+
+        ProductImportReport report = importCsv(csv.toString(StandardCharsets.UTF_8));
+
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getErrors().get(0).getRow());
+        Products tablet = electronicsRepositorys.findAll().get(0);
+        assertEquals("Màn hình \"11\" inch, 2 camera", tablet.getDescription());
+        assertEquals(phones.getId(), tablet.getCategory().getId());
+        assertEquals(0, tablet.getVersion());
+    }
+
+    @Test
+    void testCapsTheErrorListButCountsEveryRejectedRow() {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            csv.append(row("Sản phẩm " + i, "x", String.valueOf(phones.getId()), String.valueOf(supplier.getId())));
+        }
+
+        ProductImportReport report = importCsv(csv.toString());
+
+        assertEquals(10, report.getRejected());
+        assertEquals(4, report.getErrors().size());
+        assertEquals(0, electronicsRepositorys.count());
+    }
+
+    @Test
+    void testUnterminatedQuoteStopsTheImport() {
+        String c = String.valueOf(phones.getId());
+        String s = String.valueOf(supplier.getId());
+        String csv = row("Điện thoại Galaxy", "1000", c, s)
+                + row("Máy tính bảng", "9000", c, s)
+                + row("Đồng hồ thông minh", "4000", c, s)
+                + "\"\",\"Cáp USB-C,desc,10\n"
+                + row("Ốp lưng silicon", "50", c, s);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> importCsv(csv));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        assertEquals(3, electronicsRepositorys.count());
+    }
+}
@@ -0,0 +1,34 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the JDBC statements Hibernate prepares so listings can assert a fixed query budget
+ * and fail as soon as they slip back into one select per row.
+ */
+public class QueryCounter {
+
+    private final Statistics statistics;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    public long getStatementCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    public void assertStatementCount(long expected, String listing) {
+        assertEquals(expected, getStatementCount(),
+                listing + " should run " + expected + " statement(s); an extra select per row means N+1 is back");
+    }
+}
@@ -0,0 +1,111 @@
+package com.websiteElectronics.websiteElectronics.Repositories;
+
+import com.websiteElectronics.websiteElectronics.Entities.Customers;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Entities.PaymentMethods;
+import com.websiteElectronics.websiteElectronics.Entities.ShippingMethods;
+import com.websiteElectronics.websiteElectronics.Services.Impl.RevenueReportServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(RevenueReportServiceImpl.class)
+@TestPropertySource(properties = "report.backfill.max-days=7")
+class RevenueReportTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 15);
+
+    @TempDir
+    Path reportFolder;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RevenueReportServiceImpl revenueReportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(revenueReportService, "reportFolderPath", reportFolder.toString());
+
+        Customers customer = new Customers();
+        customer.setFirstName("Nguyen");
+        customer.setLastName("An");
+        customer.setEmail("an@example.com");
+        entityManager.persist(customer);
+        PaymentMethods paymentMethod = entityManager.persist(new PaymentMethods(0, "COD", "desc"));
+        ShippingMethods shippingMethod = entityManager.persist(new ShippingMethods(0, "Express", 10.0, "2 days"));
+
+        // Midnight belongs to the day it starts; the old isAfter filter dropped it.
+        entityManager.persist(new Orders(0, DAY.atStartOfDay(), "Shipped", 300, customer, paymentMethod, shippingMethod));
+        entityManager.persist(new Orders(0, DAY.atTime(15, 30), "Delivery", 500, customer, paymentMethod, shippingMethod));
+        entityManager.persist(new Orders(0, DAY.plusDays(1).atTime(23, 59, 59), "Pending", 200, customer, paymentMethod, shippingMethod));
+        entityManager.persist(new Orders(0, DAY.plusDays(3).atStartOfDay(), "Shipped", 900, customer, paymentMethod, shippingMethod));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private String report(LocalDate day) throws Exception {
+        return Files.readString(reportFolder.resolve("daily_revenue_" + day + ".txt"), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testWritesOneReportPerDayFromTwoQueries() throws Exception {
+        QueryCounter queryCounter = new QueryCounter(entityManagerFactory);
+        queryCounter.reset();
+
+        assertEquals(3, revenueReportService.generateDailyRevenueReports(DAY, DAY.plusDays(2)));
+        queryCounter.assertStatementCount(2, "generateDailyRevenueReports");
+
+        String first = report(DAY);
+        assertTrue(first.contains("Tong so don hang: 2\n"), first);
+        assertTrue(first.contains("Tong doanh thu: 800.0\n"), first);
+        assertTrue(first.contains("Tong so don hang da giao: 1\n"), first);
+        assertTrue(first.contains("Tong so don hang dang van chuyen: 1\n"), first);
+        assertTrue(first.contains("Khách hàng: NguyenAn\n"), first);
+        assertEquals(2, first.split("Mã đơn hàng: ", -1).length - 1);
+
+        String second = report(DAY.plusDays(1));
+        assertTrue(second.contains("Tong so don hang: 1\n"), second);
+        assertTrue(second.contains("Tong doanh thu: 200.0\n"), second);
+
+        String empty = report(DAY.plusDays(2));
+        assertTrue(empty.contains("Tong so don hang: 0\n"), empty);
+        assertFalse(empty.contains("Mã đơn hàng: "), empty);
+        assertFalse(Files.exists(reportFolder.resolve("daily_revenue_" + DAY.plusDays(3) + ".txt")));
+    }
+
+    @Test
+    void testRejectsReversedOrOversizedRanges() {
+        ResponseStatusException reversed = assertThrows(ResponseStatusException.class,
+                () -> revenueReportService.generateDailyRevenueReports(DAY, DAY.minusDays(1)));
+        assertEquals(HttpStatus.BAD_REQUEST, reversed.getStatusCode());
+
+        ResponseStatusException oversized = assertThrows(ResponseStatusException.class,
+                () -> revenueReportService.generateDailyRevenueReports(DAY, DAY.plusDays(7)));
+        assertEquals(HttpStatus.BAD_REQUEST, oversized.getStatusCode());
+    }
+}
@@ -0,0 +1,122 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.websiteElectronics.websiteElectronics.Dtos.MailCampaignProgressDto;
+import com.websiteElectronics.websiteElectronics.Services.Impl.BulkMailDispatcherImpl;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkMailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private BulkMailDispatcherImpl dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    private JavaMailSender greenMailSender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        sender.getJavaMailProperties().put("mail.smtp.from", "shop@example.com");
+        return sender;
+    }
+
+    @Test
+    void testCampaignIsDeliveredThroughConcurrentSessions() throws Exception {
+        dispatcher = new BulkMailDispatcherImpl(greenMailSender(), 3, 1000, 1000, 10, 3, 10, 100);
+        dispatcher.start();
+
+        MailCampaign campaign = dispatcher.openCampaign("weekly-promotion");
+        for (int i = 0; i < 45; i++) {
+            campaign.submit("customer" + i + "@example.com", "Promotion", "<p>Hello " + i + "</p>");
+        }
+        campaign.close();
+
+        assertTrue(campaign.awaitCompletion(Duration.ofSeconds(30)));
+        assertEquals(45, greenMail.getReceivedMessages().length);
+
+        MailCampaignProgressDto progress = dispatcher.getCampaignProgress().get(0);
+        assertEquals("COMPLETED", progress.getStatus());
+        assertEquals(45, progress.getQueued());
+        assertEquals(45, progress.getSent());
+        assertEquals(0, progress.getFailed());
+        assertEquals(0, progress.getPending());
+    }
+
+    @Test
+    void testRateLimitSpreadsSendsOverTime() throws Exception {
+        dispatcher = new BulkMailDispatcherImpl(greenMailSender(), 2, 10, 1, 5, 3, 10, 100);
+        dispatcher.start();
+
+        long startNanos = System.nanoTime();
+        MailCampaign campaign = dispatcher.openCampaign("inactive-reminder");
+        for (int i = 0; i < 11; i++) {
+            campaign.submit("customer" + i + "@example.com", "Reminder", "<p>Hi</p>");
+        }
+        campaign.close();
+
+        assertTrue(campaign.awaitCompletion(Duration.ofSeconds(30)));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+
+        assertEquals(11, greenMail.getReceivedMessages().length);
+        assertTrue(elapsedMillis >= 900, "11 mails at 10/s should take about a second, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testRejectedMessagesAreRetriedWithBackoff() throws Exception {
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        Session session = Session.getInstance(new Properties());
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(session));
+
+        AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            Object firstMessage = invocation.getArguments()[0];
+            if (attempts.getAndIncrement() == 0) {
+                throw new MailSendException(Map.of(firstMessage, new RuntimeException("451 try again")));
+            }
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher = new BulkMailDispatcherImpl(mailSender, 1, 1000, 1000, 10, 3, 10, 100);
+
+        MailCampaign campaign = dispatcher.openCampaign("loyal-thank-you");
+        for (int i = 0; i < 3; i++) {
+            campaign.submit("customer" + i + "@example.com", "Thanks", "<p>Thanks</p>");
+        }
+        campaign.close();
+        dispatcher.start();
+
+        assertTrue(campaign.awaitCompletion(Duration.ofSeconds(10)));
+        MailCampaignProgressDto progress = campaign.toProgressDto();
+        assertEquals(3, progress.getSent());
+        assertEquals(1, progress.getRetried());
+        assertEquals(0, progress.getFailed());
+        assertEquals(2, attempts.get());
+    }
+}
@@ -0,0 +1,59 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Entities.Categories;
+import com.websiteElectronics.websiteElectronics.Services.Impl.CategoryTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CategoryTreeTest {
+
+    private static Categories category(int id, Integer parentId) {
+        return new Categories(id, "Category" + id, "desc", parentId);
+    }
+
+    // 1 ─┬─ 2 ─── 4
+    //    └─ 3 ─── 5 ─── 6
+    // 7
+    private final CategoryTree tree = CategoryTree.build(List.of(
+            category(1, null), category(2, 1), category(3, 1), category(4, 2),
+            category(5, 3), category(6, 5), category(7, null)));
+
+    @Test
+    void testAncestorsAreListedRootFirst() {
+        assertEquals(List.of(1, 3, 5), tree.ancestorIds(6));
+        assertEquals(List.of(), tree.ancestorIds(1));
+        assertEquals(List.of(), tree.ancestorIds(99));
+    }
+
+    @Test
+    void testSubtreeIsContiguousPreorderSlice() {
+        assertEquals(List.of(2, 4, 3, 5, 6), tree.subtreeIds(1, false));
+        assertEquals(List.of(3, 5, 6), tree.subtreeIds(3, true));
+        assertEquals(List.of(), tree.subtreeIds(4, false));
+        assertEquals(List.of(7), tree.subtreeIds(7, true));
+    }
+
+    @Test
+    void testIsInSubtreeDetectsMovesThatWouldCreateCycle() {
+        assertTrue(tree.isInSubtree(3, 6));
+        assertTrue(tree.isInSubtree(3, 3));
+        assertFalse(tree.isInSubtree(2, 6));
+        assertFalse(tree.isInSubtree(6, 3));
+    }
+
+    @Test
+    void testOrphansAndStoredCyclesStillIndexEveryCategory() {
+        CategoryTree broken = CategoryTree.build(List.of(
+                category(1, 42), category(2, 3), category(3, 2), category(4, 3)));
+
+        assertTrue(broken.contains(1));
+        assertEquals(List.of(), broken.ancestorIds(1));
+        assertEquals(List.of(2, 3, 4), broken.subtreeIds(2, true));
+        assertEquals(List.of(2, 3), broken.ancestorIds(4));
+    }
+}
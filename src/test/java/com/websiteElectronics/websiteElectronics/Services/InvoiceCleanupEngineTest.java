@@ -0,0 +1,148 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Collections.Invoices;
+import com.websiteElectronics.websiteElectronics.Collections.JobCheckpoint;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InvoiceCleanupEngine;
+import com.websiteElectronics.websiteElectronics.Services.Impl.LocalDiskInvoiceStore;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InvoiceCleanupEngineTest {
+
+    @TempDir
+    Path folder;
+
+    private MongoTemplate mongoTemplate;
+    private InvoiceCleanupEngine engine;
+    private final List<JobCheckpoint> savedCheckpoints = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.save(any(JobCheckpoint.class))).thenAnswer(inv -> {
+            JobCheckpoint checkpoint = inv.getArgument(0);
+            savedCheckpoints.add(new JobCheckpoint(checkpoint.getId(), checkpoint.getCutoff(), checkpoint.getLastId(),
+                    checkpoint.getProcessed(), checkpoint.getDeleted(), checkpoint.isCompleted(),
+                    checkpoint.getStartedAt(), checkpoint.getUpdatedAt()));
+            return checkpoint;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    private Invoices invoice(String id, String fileUrl) {
+        Invoices invoice = new Invoices();
+        invoice.setId(id);
+        invoice.setFileUrl(fileUrl);
+        return invoice;
+    }
+
+    private String file(String name) throws IOException {
+        return Files.writeString(folder.resolve(name), "invoice").toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> removedIds(int expectedCalls) {
+        ArgumentCaptor<Query> removals = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(expectedCalls)).remove(removals.capture(), eq(Invoices.class));
+        List<Object> ids = new ArrayList<>();
+        for (Query removal : removals.getAllValues()) {
+            ids.addAll((List<Object>) ((Document) removal.getQueryObject().get("_id")).get("$in"));
+        }
+        return ids;
+    }
+
+    @Test
+    void testPagesAreDeletedInBulkAndFailedFilesAreKept() throws IOException {
+        engine = new InvoiceCleanupEngine(mongoTemplate, new LocalDiskInvoiceStore(folder.toString()), 2, 2, "batch", 60);
+        // A non-empty directory cannot be deleted, standing in for a file the job has no rights to.
+        Path stuck = Files.createDirectory(folder.resolve("stuck"));
+        Files.writeString(stuck.resolve("inner"), "x");
+        when(mongoTemplate.find(any(Query.class), eq(Invoices.class)))
+                .thenReturn(List.of(invoice("a", file("a.txt")), invoice("b", null)))
+                .thenReturn(List.of(invoice("c", stuck.toString()), invoice("d", folder.resolve("missing.txt").toString())))
+                .thenReturn(List.of());
+
+        int cleaned = engine.run();
+
+        assertEquals(3, cleaned);
+        assertEquals(Set.of("a", "b", "d"), Set.copyOf(removedIds(2)));
+        assertFalse(Files.exists(folder.resolve("a.txt")));
+        assertTrue(Files.exists(stuck));
+
+        JobCheckpoint last = savedCheckpoints.get(savedCheckpoints.size() - 1);
+        assertTrue(last.isCompleted());
+        assertEquals("d", last.getLastId());
+        assertEquals(4, last.getProcessed());
+        assertEquals(3, last.getDeleted());
+    }
+
+    @Test
+    void testUnfinishedRunResumesAfterCheckpoint() {
+        engine = new InvoiceCleanupEngine(mongoTemplate, new LocalDiskInvoiceStore(folder.toString()), 100, 1, "batch", 60);
+        LocalDateTime cutoff = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(mongoTemplate.findById("invoice-cleanup", JobCheckpoint.class)).thenReturn(
+                new JobCheckpoint("invoice-cleanup", cutoff, "m", 40, 40, false, cutoff, cutoff));
+        when(mongoTemplate.find(any(Query.class), eq(Invoices.class)))
+                .thenReturn(List.of(invoice("n", null)))
+                .thenReturn(List.of());
+
+        engine.run();
+
+        ArgumentCaptor<Query> pages = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(pages.capture(), eq(Invoices.class));
+        Document firstPage = pages.getAllValues().get(0).getQueryObject();
+        assertEquals(new Document("$gt", "m"), firstPage.get("_id"));
+        assertEquals(new Document("$lt", cutoff), firstPage.get("expireAt"));
+        assertEquals(41, savedCheckpoints.get(savedCheckpoints.size() - 1).getProcessed());
+    }
+
+    @Test
+    void testTtlModeOnlyClearsFileReferences() throws IOException {
+        engine = new InvoiceCleanupEngine(mongoTemplate, new LocalDiskInvoiceStore(folder.toString()), 10, 1, "ttl", 60);
+        when(mongoTemplate.find(any(Query.class), eq(Invoices.class)))
+                .thenReturn(List.of(invoice("a", file("a.txt"))))
+                .thenReturn(List.of());
+
+        assertEquals(1, engine.run());
+
+        ArgumentCaptor<Query> pages = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(pages.capture(), eq(Invoices.class));
+        assertEquals(new Document("$ne", null), pages.getAllValues().get(0).getQueryObject().get("fileUrl"));
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(any(Query.class), updates.capture(), eq(Invoices.class));
+        assertTrue(((Document) updates.getValue().getUpdateObject().get("$unset")).containsKey("fileUrl"));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(Invoices.class));
+    }
+}
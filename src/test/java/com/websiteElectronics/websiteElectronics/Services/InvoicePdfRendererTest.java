@@ -0,0 +1,133 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import com.websiteElectronics.websiteElectronics.Entities.Customers;
+import com.websiteElectronics.websiteElectronics.Entities.OrderDetails;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Entities.PaymentMethods;
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Entities.ShippingMethods;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InvoicePdfRenderer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvoicePdfRendererTest {
+
+    private static InvoicePdfRenderer renderer;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        renderer = new InvoicePdfRenderer(new ClassPathResource("fonts/DejaVuSans-Vietnamese.ttf"));
+    }
+
+    private static Orders order(int id) {
+        Customers customer = new Customers();
+        customer.setFirstName("Nguyễn");
+        customer.setLastName("Thị Hằng");
+        customer.setEmail("hang@example.com");
+        return new Orders(id, LocalDateTime.of(2024, 5, 1, 9, 30), "Paid", 1_500_000, customer,
+                new PaymentMethods(1, "Chuyển khoản", "desc"), new ShippingMethods(1, "Giao hàng nhanh", 30000.0, "2 ngày"));
+    }
+
+    private static List<OrderDetails> lines(Orders order, int count) {
+        List<OrderDetails> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Products product = new Products(i, "Tai nghe không dây " + i, "desc", 500_000, 10, "img", null, null);
+            lines.add(new OrderDetails(i, order, product, 3));
+        }
+        return lines;
+    }
+
+    private static String text(byte[] pdf) throws IOException {
+        PdfReader reader = new PdfReader(pdf);
+        try {
+            PdfTextExtractor extractor = new PdfTextExtractor(reader);
+            StringBuilder text = new StringBuilder();
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                text.append(extractor.getTextFromPage(page)).append('\n');
+            }
+            return text.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    void testRendersVietnameseText() throws IOException {
+        Orders order = order(42);
+
+        String text = text(renderer.render(order, lines(order, 3)));
+
+        assertTrue(text.contains("HÓA ĐƠN CHI TIẾT"), text);
+        assertTrue(text.contains("Nguyễn Thị Hằng"), text);
+        assertTrue(text.contains("Tai nghe không dây 2"), text);
+        assertTrue(text.contains("Giao hàng nhanh"), text);
+    }
+
+    @Test
+    void testFontCoversEveryVietnameseLetter() throws IOException {
+        // Every vowel with every tone, precomposed as NFC text is, plus đ and the đồng sign.
+        StringBuilder letters = new StringBuilder("đ");
+        for (String vowel : List.of("a", "ă", "â", "e", "ê", "i", "o", "ô", "ơ", "u", "ư", "y")) {
+            for (String tone : List.of("", "\u0300", "\u0301", "\u0309", "\u0303", "\u0323")) {
+                letters.append(Normalizer.normalize(vowel + tone, Normalizer.Form.NFC));
+            }
+        }
+        String lower = letters.toString();
+        String upper = lower.toUpperCase(new Locale("vi"));
+        Orders order = order(5);
+        order.getCustomer().setFirstName(lower);
+        order.getCustomer().setLastName(upper);
+
+        String text = text(renderer.render(order, lines(order, 1)));
+
+        assertTrue(text.contains(lower), text);
+        assertTrue(text.contains(upper), text);
+        assertTrue(text.contains("1.500.000"), text);
+        assertTrue(text.contains("₫"), text);
+    }
+
+    @Test
+    void testLongInvoicesSpanPages() throws IOException {
+        Orders order = order(7);
+
+        PdfReader reader = new PdfReader(renderer.render(order, lines(order, 120)));
+
+        assertTrue(reader.getNumberOfPages() > 1);
+        reader.close();
+    }
+
+    @Test
+    void testConcurrentRendersShareFontsSafely() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Orders order = order(1000 + i);
+                results.add(executor.submit(() -> text(renderer.render(order, lines(order, 1 + order.getId() % 5)))));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                String text = results.get(i).get();
+                assertTrue(text.contains("Mã đơn hàng: " + (1000 + i)), text);
+                assertEquals(1 + (1000 + i) % 5, text.split("Tai nghe không dây", -1).length - 1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Collections.InvoiceOutboxEntry;
+import com.websiteElectronics.websiteElectronics.Collections.Invoices;
+import com.websiteElectronics.websiteElectronics.Dtos.InvoicePipelineStatsDto;
+import com.websiteElectronics.websiteElectronics.Entities.Customers;
+import com.websiteElectronics.websiteElectronics.Entities.Orders;
+import com.websiteElectronics.websiteElectronics.Repositories.InvoiceOutboxRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.InvoicesRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.OrdersRepository;
+import com.websiteElectronics.websiteElectronics.Services.Impl.InvoicePipeline;
+import com.websiteElectronics.websiteElectronics.Templates.EmailTemplates;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InvoicePipelineTest {
+
+    private final Map<String, InvoiceOutboxEntry> outbox = new ConcurrentHashMap<>();
+    private final Map<Long, Invoices> invoices = new ConcurrentHashMap<>();
+
+    private InvoiceOutboxRepository outboxRepository;
+    private InvoicesRepository invoicesRepository;
+    private OrdersRepository ordersRepository;
+    private InvoiceFileService invoiceFileService;
+    private EmailService emailService;
+    private EmailTemplates emailTemplates;
+    private InvoicePipeline pipeline;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        outboxRepository = mock(InvoiceOutboxRepository.class);
+        when(outboxRepository.findById(anyString())).thenAnswer(inv -> Optional.ofNullable(outbox.get(inv.<String>getArgument(0))));
+        when(outboxRepository.save(any(InvoiceOutboxEntry.class))).thenAnswer(inv -> {
+            InvoiceOutboxEntry entry = inv.getArgument(0);
+            outbox.put(entry.getId(), entry);
+            return entry;
+        });
+        when(outboxRepository.findByStatusInAndNextAttemptAtBefore(any(), any())).thenAnswer(inv -> {
+            Collection<String> statuses = inv.getArgument(0);
+            LocalDateTime before = inv.getArgument(1);
+            return outbox.values().stream()
+                    .filter(e -> statuses.contains(e.getStatus()) && e.getNextAttemptAt().isBefore(before))
+                    .toList();
+        });
+        when(outboxRepository.countByStatus(anyString())).thenAnswer(inv -> outbox.values().stream()
+                .filter(e -> e.getStatus().equals(inv.getArgument(0))).count());
+
+        invoicesRepository = mock(InvoicesRepository.class);
+        when(invoicesRepository.findByOrderId(anyLong())).thenAnswer(inv -> Optional.ofNullable(invoices.get(inv.<Long>getArgument(0))));
+        when(invoicesRepository.save(any(Invoices.class))).thenAnswer(inv -> {
+            Invoices invoice = inv.getArgument(0);
+            invoice.setId("inv-" + invoice.getOrderId());
+            invoices.put(invoice.getOrderId(), invoice);
+            return invoice;
+        });
+
+        ordersRepository = mock(OrdersRepository.class);
+        when(ordersRepository.findWithReferencesById(anyInt())).thenAnswer(inv -> Optional.of(order(inv.getArgument(0))));
+
+        invoiceFileService = mock(InvoiceFileService.class);
+        when(invoiceFileService.createInvoiceFile(any(Orders.class)))
+                .thenAnswer(inv -> "invoices/order-" + inv.<Orders>getArgument(0).getId() + ".txt");
+
+        emailService = mock(EmailService.class);
+        emailTemplates = mock(EmailTemplates.class);
+        when(emailTemplates.renderInvoice(any(), any(), anyLong(), anyInt(), any())).thenReturn("<html/>");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    private InvoicePipeline pipeline(int queueCapacity, long backoffMs) {
+        return new InvoicePipeline(outboxRepository, invoicesRepository, ordersRepository, invoiceFileService,
+                emailService, emailTemplates, 1, queueCapacity, 1, queueCapacity, 1, queueCapacity, 3, backoffMs);
+    }
+
+    private static Orders order(int id) {
+        Customers customer = new Customers();
+        customer.setId(7);
+        customer.setFirstName("An");
+        customer.setLastName("Nguyen");
+        customer.setEmail("an@example.com");
+        Orders order = new Orders();
+        order.setId(id);
+        order.setStatus("Pending");
+        order.setTotalAmount(1000);
+        order.setCustomer(customer);
+        return order;
+    }
+
+    private String statusOf(int orderId) {
+        InvoiceOutboxEntry entry = outbox.get(InvoiceOutboxEntry.idOf(orderId));
+        return entry == null ? null : entry.getStatus();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testInvoiceRunsThroughAllStages() throws Exception {
+        pipeline = pipeline(10, 0);
+
+        pipeline.submit(1, 60);
+        await(() -> InvoiceOutboxEntry.SENT.equals(statusOf(1)));
+
+        assertEquals("inv-1", outbox.get(InvoiceOutboxEntry.idOf(1)).getInvoiceId());
+        assertEquals(7L, invoices.get(1L).getCustomerId());
+        verify(emailService).sendInvoiceEmail("an@example.com", "Hóa đơn đơn hàng:1", "<html/>", "invoices/order-1.txt");
+
+        pipeline.submit(1, 60);
+        verify(invoiceFileService, times(1)).createInvoiceFile(any(Orders.class));
+    }
+
+    @Test
+    void testMailFailureResumesWithoutRendering() throws Exception {
+        doThrow(new RuntimeException("SMTP down")).doNothing()
+                .when(emailService).sendInvoiceEmail(anyString(), anyString(), anyString(), anyString());
+        pipeline = pipeline(10, 0);
+
+        pipeline.submit(2, 60);
+        await(() -> outbox.get(InvoiceOutboxEntry.idOf(2)) != null && outbox.get(InvoiceOutboxEntry.idOf(2)).getAttempts() == 1);
+        assertEquals(InvoiceOutboxEntry.PERSISTED, statusOf(2));
+        assertEquals("SMTP down", outbox.get(InvoiceOutboxEntry.idOf(2)).getLastError());
+
+        await(() -> pipeline.resumePending() == 1);
+        await(() -> InvoiceOutboxEntry.SENT.equals(statusOf(2)));
+
+        verify(invoiceFileService, times(1)).createInvoiceFile(any(Orders.class));
+        verify(invoicesRepository, times(1)).save(any(Invoices.class));
+    }
+
+    @Test
+    void testFullQueueLeavesWorkInOutbox() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch rendering = new CountDownLatch(1);
+        when(invoiceFileService.createInvoiceFile(any(Orders.class))).thenAnswer(inv -> {
+            rendering.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "invoices/order-" + inv.<Orders>getArgument(0).getId() + ".txt";
+        });
+        pipeline = pipeline(1, 0);
+
+        pipeline.submit(10, 60);
+        assertTrue(rendering.await(5, TimeUnit.SECONDS));
+        pipeline.submit(11, 60);
+        pipeline.submit(12, 60);
+
+        InvoicePipelineStatsDto stats = pipeline.getStats();
+        assertEquals(1, stats.getStages().get(0).getRejected());
+        assertEquals(3L, stats.getOutbox().get(InvoiceOutboxEntry.PENDING));
+
+        release.countDown();
+        await(() -> {
+            pipeline.resumePending();
+            return pipeline.getStats().getOutbox().get(InvoiceOutboxEntry.SENT) == 3L;
+        });
+        verify(invoiceFileService, times(3)).createInvoiceFile(any(Orders.class));
+    }
+
+    @Test
+    void testEntryFailsAfterMaxAttempts() throws Exception {
+        doAnswer(inv -> {
+            throw new IllegalStateException("disk full");
+        }).when(invoiceFileService).createInvoiceFile(any(Orders.class));
+        pipeline = pipeline(10, 0);
+
+        pipeline.submit(20, 60);
+        await(() -> {
+            pipeline.resumePending();
+            return InvoiceOutboxEntry.FAILED.equals(statusOf(20));
+        });
+
+        assertEquals(3, outbox.get(InvoiceOutboxEntry.idOf(20)).getAttempts());
+    }
+
+    @Test
+    void testRecoveryStartsSettledOrdersWithoutOutboxEntry() throws Exception {
+        when(outboxRepository.findAllById(any())).thenAnswer(inv -> {
+            Iterable<String> ids = inv.getArgument(0);
+            List<InvoiceOutboxEntry> found = new ArrayList<>();
+            ids.forEach(id -> Optional.ofNullable(outbox.get(id)).ifPresent(found::add));
+            return found;
+        });
+        when(invoicesRepository.findByOrderIdIn(any())).thenAnswer(inv -> inv.<Collection<Long>>getArgument(0).stream()
+                .map(invoices::get).filter(Objects::nonNull).toList());
+        pipeline = pipeline(10, 0);
+        ReflectionTestUtils.setField(pipeline, "recoveryOrders", 100);
+        ReflectionTestUtils.setField(pipeline, "recoveryExpireMinutes", 60);
+
+        // Order 30 went through the pipeline, 31 was invoiced before it existed, 32 lost its submit.
+        pipeline.submit(30, 60);
+        await(() -> InvoiceOutboxEntry.SENT.equals(statusOf(30)));
+        Invoices legacy = new Invoices();
+        legacy.setOrderId(31L);
+        invoices.put(31L, legacy);
+        when(ordersRepository.findRecentIds(any())).thenReturn(List.of(32, 31, 30));
+
+        // The first sweep only notes the newest order; its after-commit submit may still be running.
+        assertEquals(0, pipeline.resumePending());
+        assertNull(statusOf(32));
+
+        when(ordersRepository.findRecentIds(any())).thenReturn(List.of(33, 32, 31, 30));
+        assertEquals(1, pipeline.resumePending());
+        await(() -> InvoiceOutboxEntry.SENT.equals(statusOf(32)));
+        assertNull(statusOf(31));
+        assertNull(statusOf(33));
+        verify(invoiceFileService, times(2)).createInvoiceFile(any(Orders.class));
+    }
+}
@@ -0,0 +1,122 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Services.Impl.InMemoryInvoiceStore;
+import com.websiteElectronics.websiteElectronics.Services.Impl.LocalDiskInvoiceStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvoiceStoreTest {
+
+    @TempDir
+    Path folder;
+
+    private static final byte[] INVOICE = "HÓA ĐƠN BÁN HÀNG\nTổng cộng: 1.000.000 ₫\n".repeat(50).getBytes(StandardCharsets.UTF_8);
+
+    private static byte[] read(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void testLocalStoreShardsByHashAndRoundTrips() throws IOException {
+        LocalDiskInvoiceStore store = new LocalDiskInvoiceStore(folder.toString());
+
+        String key = store.put(INVOICE);
+
+        assertTrue(key.matches("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.txt\\.gz"), key);
+        assertTrue(key.startsWith(key.substring(6, 8) + "/" + key.substring(8, 10) + "/"));
+        assertTrue(Files.exists(folder.resolve(key)));
+        assertTrue(store.storedSize(key) < INVOICE.length);
+        assertArrayEquals(INVOICE, read(store.open(key)));
+    }
+
+    @Test
+    void testLocalStoreDeduplicatesAndLeavesNoTempFiles() throws IOException {
+        LocalDiskInvoiceStore store = new LocalDiskInvoiceStore(folder.toString());
+
+        String first = store.put(INVOICE);
+        String second = store.put(INVOICE.clone());
+
+        assertEquals(first, second);
+        try (Stream<Path> files = Files.walk(folder)) {
+            List<Path> regular = files.filter(Files::isRegularFile).toList();
+            assertEquals(List.of(folder.resolve(first)), regular);
+        }
+    }
+
+    @Test
+    void testTransferToCopiesCompressedBytes() throws IOException {
+        LocalDiskInvoiceStore store = new LocalDiskInvoiceStore(folder.toString());
+        String key = store.put(INVOICE);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long copied = store.transferTo(key, Channels.newChannel(out));
+
+        assertEquals(store.storedSize(key), copied);
+        assertArrayEquals(Files.readAllBytes(folder.resolve(key)), out.toByteArray());
+        assertArrayEquals(INVOICE, read(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))));
+    }
+
+    @Test
+    void testLegacyAbsolutePathsStayReadableAndEscapesAreRejected() throws IOException {
+        LocalDiskInvoiceStore store = new LocalDiskInvoiceStore(folder.resolve("store").toString());
+        Path legacy = Files.write(folder.resolve("HoaDon_7.txt"), INVOICE);
+
+        assertFalse(store.isCompressed(legacy.toString()));
+        assertArrayEquals(INVOICE, read(store.open(legacy.toString())));
+        assertTrue(store.delete(legacy.toString()));
+        assertFalse(store.delete(legacy.toString()));
+        assertThrows(IllegalArgumentException.class, () -> store.open("../HoaDon_7.txt"));
+    }
+
+    @Test
+    void testUncompressedEntriesAreStoredAsIs() throws IOException {
+        LocalDiskInvoiceStore store = new LocalDiskInvoiceStore(folder.toString());
+        byte[] pdf = "%PDF-1.4 already deflated".getBytes(StandardCharsets.US_ASCII);
+
+        String key = store.put(pdf, "pdf", false);
+
+        assertTrue(key.endsWith(".pdf"), key);
+        assertFalse(store.isCompressed(key));
+        assertEquals("pdf", store.extensionOf(key));
+        assertEquals("txt", store.extensionOf(store.put(INVOICE)));
+        assertArrayEquals(pdf, Files.readAllBytes(folder.resolve(key)));
+        assertArrayEquals(pdf, read(store.open(key)));
+    }
+
+    @Test
+    void testMemoryStoreUsesTheSameKeys() throws IOException {
+        InMemoryInvoiceStore memory = new InMemoryInvoiceStore();
+        LocalDiskInvoiceStore disk = new LocalDiskInvoiceStore(folder.toString());
+
+        String key = memory.put(INVOICE);
+
+        assertEquals(disk.put(INVOICE), key);
+        assertArrayEquals(INVOICE, read(memory.open(key)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(memory.storedSize(key), memory.transferTo(key, Channels.newChannel(out)));
+        assertTrue(memory.delete(key));
+        assertFalse(memory.exists(key));
+        assertThrows(NoSuchFileException.class, () -> memory.open(key));
+    }
+}
@@ -0,0 +1,97 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Services.Impl.JwtService;
+import io.jsonwebtoken.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private JwtService jwtService;
+
+    private final UserDetails user = User.builder()
+            .username("user@example.com")
+            .password("")
+            .authorities(List.of(new SimpleGrantedAuthority("ROLE_USER")))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService(2);
+    }
+
+    private static JwtService newJwtService(int cacheSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", "testSecretKeyForJWTTokenGenerationAndValidation12345");
+        ReflectionTestUtils.setField(service, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(service, "claimsCacheMaxSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    @Test
+    void testRepeatTokenIsVerifiedOnce() {
+        String token = jwtService.generateToken(user);
+
+        assertEquals("user@example.com", jwtService.extractUsername(token));
+        assertEquals(List.of("ROLE_USER"), jwtService.extractRoles(token));
+        assertTrue(jwtService.validateToken(token, user));
+
+        assertEquals(1, jwtService.getClaimsCache().getMissCount());
+        assertEquals(2, jwtService.getClaimsCache().getHitCount());
+    }
+
+    @Test
+    void testOnlyCacheMissesAreTimed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(jwtService, "meterRegistry", registry);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        String token = jwtService.generateToken(user);
+
+        jwtService.extractAllClaims(token);
+        jwtService.extractAllClaims(token);
+        jwtService.extractAllClaims(token);
+
+        assertEquals(1, registry.get("jwt.parse").timer().count());
+        assertEquals(2, registry.get("jwt.claims.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("jwt.claims.cache.requests").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testTamperedTokenIsNotCached() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertThrows(SignatureException.class, () -> jwtService.extractAllClaims(tampered));
+        assertThrows(SignatureException.class, () -> jwtService.extractAllClaims(tampered));
+        assertEquals(0, jwtService.getClaimsCache().size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedTokenIsEvicted() {
+        String first = jwtService.createToken(new java.util.HashMap<>(), "first@example.com");
+        String second = jwtService.createToken(new java.util.HashMap<>(), "second@example.com");
+        String third = jwtService.createToken(new java.util.HashMap<>(), "third@example.com");
+
+        jwtService.extractAllClaims(first);
+        jwtService.extractAllClaims(second);
+        jwtService.extractAllClaims(first);
+        jwtService.extractAllClaims(third);
+
+        assertEquals(2, jwtService.getClaimsCache().size());
+        long missesBefore = jwtService.getClaimsCache().getMissCount();
+        jwtService.extractAllClaims(first);
+        assertEquals(missesBefore, jwtService.getClaimsCache().getMissCount());
+        jwtService.extractAllClaims(second);
+        assertEquals(missesBefore + 1, jwtService.getClaimsCache().getMissCount());
+    }
+}
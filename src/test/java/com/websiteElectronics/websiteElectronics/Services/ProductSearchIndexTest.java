@@ -0,0 +1,76 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Entities.Categories;
+import com.websiteElectronics.websiteElectronics.Entities.Products;
+import com.websiteElectronics.websiteElectronics.Repositories.ElectronicsRepositorys;
+import com.websiteElectronics.websiteElectronics.Services.Impl.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchIndexTest {
+
+    private static final Categories PHONES = new Categories(1, "Điện thoại", "desc", null);
+    private static final Categories LAPTOPS = new Categories(2, "Laptop", "desc", null);
+
+    private ProductSearchIndex index;
+
+    private static Products product(int id, String name, String description, int price, Categories category) {
+        return new Products(id, name, description, price, 10, "img", category, null);
+    }
+
+    @BeforeEach
+    void setUp() {
+        ElectronicsRepositorys repository = mock(ElectronicsRepositorys.class);
+        when(repository.findAllWithCategory()).thenReturn(List.of(
+                product(1, "Điện thoại Samsung Galaxy", "Màn hình lớn, pin trâu", 9000000, PHONES),
+                product(2, "Điện thoại iPhone 15", "Camera đẹp", 20000000, PHONES),
+                product(3, "Laptop Dell XPS", "Mỏng nhẹ, dành cho điện thoại di động?", 30000000, LAPTOPS)));
+        index = new ProductSearchIndex(repository);
+        index.rebuild();
+    }
+
+    @Test
+    void testTokenizeFoldsVietnameseDiacritics() {
+        assertEquals(List.of("dien", "thoai", "di", "dong"), ProductSearchIndex.tokenize("Điện THOẠI, di-động!"));
+        assertEquals(List.of(), ProductSearchIndex.tokenize("  ...  "));
+    }
+
+    @Test
+    void testSearchMatchesAllWordsAndRanksNameAboveDescription() {
+        assertEquals(List.of(1, 2, 3), index.search("dien thoai", null, null, null, 10));
+        assertEquals(List.of(2), index.search("iphone camera", null, null, null, 10));
+        assertEquals(List.of(), index.search("dien laptop samsung", null, null, null, 10));
+    }
+
+    @Test
+    void testLastWordMatchesAsPrefix() {
+        assertEquals(List.of(1), index.search("điện thoại sams", null, null, null, 10));
+        assertEquals(List.of("Điện thoại iPhone 15", "Điện thoại Samsung Galaxy"), index.suggest("dien th", 10));
+        assertEquals(List.of("Laptop Dell XPS"), index.suggest("lap", 10));
+    }
+
+    @Test
+    void testFiltersByPriceAndCategory() {
+        assertEquals(List.of(2), index.search("thoai", 10000000, 25000000, null, 10));
+        assertEquals(List.of(1, 2), index.search("thoai", null, null, categoryId -> categoryId == 1, 10));
+        assertEquals(List.of(1), index.search("thoai", null, null, null, 1));
+    }
+
+    @Test
+    void testIncrementalUpdatesReplaceOldTerms() {
+        index.index(product(1, "Máy tính bảng Samsung Tab", "Màn hình lớn", 9000000, PHONES));
+        index.delete(2);
+
+        assertEquals(List.of(3), index.search("dien thoai", null, null, null, 10));
+        assertEquals(List.of(1), index.search("may tinh", null, null, null, 10));
+        assertTrue(index.suggest("iphone", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+}
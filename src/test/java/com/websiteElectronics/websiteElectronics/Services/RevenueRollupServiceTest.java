@@ -0,0 +1,107 @@
+package com.websiteElectronics.websiteElectronics.Services;
+
+import com.websiteElectronics.websiteElectronics.Events.OrderRevenueChangedEvent;
+import com.websiteElectronics.websiteElectronics.Events.OrderRevenueSnapshot;
+import com.websiteElectronics.websiteElectronics.Model.RevenueRollup;
+import com.websiteElectronics.websiteElectronics.Repositories.OrderDetailsRepository;
+import com.websiteElectronics.websiteElectronics.Repositories.OrdersRepository;
+import com.websiteElectronics.websiteElectronics.Services.Impl.RevenueRollupServiceImpl;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RevenueRollupServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulkOperations;
+    private RevenueRollupServiceImpl rollupService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(RevenueRollup.class))).thenReturn(bulkOperations);
+        rollupService = new RevenueRollupServiceImpl(mongoTemplate, mock(OrdersRepository.class), mock(OrderDetailsRepository.class));
+    }
+
+    private Map<String, Document> capturedIncrements(int expectedUpserts) {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(expectedUpserts)).upsert(queries.capture(), updates.capture());
+        verify(bulkOperations).execute();
+
+        Map<String, Document> increments = new HashMap<>();
+        for (int i = 0; i < expectedUpserts; i++) {
+            String id = queries.getAllValues().get(i).getQueryObject().getString("_id");
+            increments.put(id, (Document) updates.getAllValues().get(i).getUpdateObject().get("$inc"));
+        }
+        return increments;
+    }
+
+    @Test
+    void testNewOrderIncrementsEveryBucket() {
+        OrderRevenueSnapshot created = new OrderRevenueSnapshot(1, 0, LocalDate.of(2024, 5, 1), 2, 300, Map.of(7, 300L));
+
+        rollupService.onOrderRevenueChanged(new OrderRevenueChangedEvent(null, created));
+
+        Map<String, Document> increments = capturedIncrements(4);
+        assertEquals(1L, increments.get("total:all").get("totalOrders"));
+        assertEquals(300L, increments.get("total:all").get("totalSales"));
+        assertEquals(300L, increments.get("day:2024-05-01").get("totalSales"));
+        assertEquals(1L, increments.get("paymentMethod:2").get("totalOrders"));
+        assertEquals(300L, increments.get("category:7").get("totalSales"));
+    }
+
+    @Test
+    void testUpdateAppliesOnlyTheNetDifference() {
+        OrderRevenueSnapshot before = new OrderRevenueSnapshot(1, 0, LocalDate.of(2024, 5, 1), 1, 100, Map.of());
+        OrderRevenueSnapshot after = new OrderRevenueSnapshot(1, 0, LocalDate.of(2024, 5, 1), 2, 150, Map.of());
+
+        rollupService.onOrderRevenueChanged(new OrderRevenueChangedEvent(before, after));
+
+        Map<String, Document> increments = capturedIncrements(4);
+        assertEquals(0L, increments.get("total:all").get("totalOrders"));
+        assertEquals(50L, increments.get("total:all").get("totalSales"));
+        assertEquals(50L, increments.get("day:2024-05-01").get("totalSales"));
+        assertEquals(-1L, increments.get("paymentMethod:1").get("totalOrders"));
+        assertEquals(-100L, increments.get("paymentMethod:1").get("totalSales"));
+        assertEquals(1L, increments.get("paymentMethod:2").get("totalOrders"));
+        assertEquals(150L, increments.get("paymentMethod:2").get("totalSales"));
+    }
+
+    @Test
+    void testUnchangedOrderSkipsMongo() {
+        OrderRevenueSnapshot snapshot = new OrderRevenueSnapshot(1, 0, LocalDate.of(2024, 5, 1), 1, 100, Map.of(3, 100L));
+
+        rollupService.onOrderRevenueChanged(new OrderRevenueChangedEvent(snapshot, snapshot));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testMissingBucketReadsAsZero() {
+        RevenueRollup rollup = rollupService.getCategory(42);
+
+        assertEquals("category:42", rollup.getId());
+        assertEquals(0, rollup.getTotalOrders());
+        assertEquals(0.0, rollup.getTotalSales());
+    }
+}
@@ -0,0 +1,50 @@
+package com.websiteElectronics.websiteElectronics.Templates;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailTemplateTest {
+
+    @Test
+    void testRenderFillsPlaceholdersInDeclaredOrder() {
+        EmailTemplate template = EmailTemplate.compile("greeting",
+                "<h2>Xin chào {{firstName}} {{lastName}}!</h2><p>{{ firstName }}</p>", "firstName", "lastName");
+
+        assertEquals("<h2>Xin chào An Nguyen!</h2><p>An</p>", template.render("An", "Nguyen"));
+        assertEquals("<h2>Xin chào Binh Tran!</h2><p>Binh</p>", template.render("Binh", "Tran"));
+    }
+
+    @Test
+    void testRenderEscapesValuesAndSkipsNulls() {
+        EmailTemplate template = EmailTemplate.compile("escape", "<p>{{name}}|{{count}}</p>", "name", "count");
+
+        assertEquals("<p>&lt;b&gt;Tom &amp; &#39;Jerry&#39;&lt;/b&gt;|12</p>", template.render("<b>Tom & 'Jerry'</b>", 12));
+        assertEquals("<p>|</p>", template.render(null, null));
+    }
+
+    @Test
+    void testCompileRejectsUnknownOrUnclosedPlaceholders() {
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("bad", "{{missing}}", "name"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("bad", "Hello {{name", "name"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("ok", "{{name}}", "name").render());
+    }
+
+    @Test
+    void testBundledTemplatesRenderWithoutLeftoverPlaceholders() {
+        EmailTemplates templates = new EmailTemplates();
+
+        String invoice = templates.renderInvoice("An", "Nguyen", 1250000, 42, "Shipped");
+        assertTrue(invoice.contains("Xin chào <span class='highlight'>An Nguyen</span>"));
+        assertTrue(invoice.contains(String.format("%,d VNĐ", 1250000)));
+        assertTrue(invoice.contains("#42"));
+        assertFalse(invoice.contains("{{"));
+
+        assertTrue(templates.renderPromotion("An", "Nguyen").contains("Xin chào An Nguyen!"));
+        assertTrue(templates.renderInactiveReminder("An").contains("Chúng tôi nhớ bạn, An!"));
+        assertTrue(templates.renderLoyalThankYou("An", 7).contains("7 đơn hàng"));
+    }
+}